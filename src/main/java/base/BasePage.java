@@ -1,13 +1,23 @@
 package base;
 
+import core.CommandMetrics;
+import core.ConfigReader;
+import core.DriverFactory;
 import core.LoggerManager;
+import core.Platform;
 import core.WaitHelper;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
 import utils.ScreenshotUtils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Base Page class implementing Page Object Model pattern
@@ -20,28 +30,77 @@ public abstract class BasePage {
     protected WaitHelper waitHelper;
     protected ScreenshotUtils screenshotUtil;
 
+    // Snapshot mode: answer read-only queries from one page source fetch
+    private final boolean snapshotMode;
+    private final long snapshotMaxAgeMillis;
+    private final int defaultTimeout;
+
+    private static final int SNAPSHOT_POLL_MILLIS = 250;
+
+    // Locator compiler: XPath rewritten to native strategies for live lookups
+    private final boolean compileLocators;
+    private final boolean calibrateLocators;
+    private final boolean singleCallConditions;
+
+    // Element references reused until the page is left or they go stale
+    private final ElementCache elementCache;
+
     public BasePage(AppiumDriver driver) {
         this.driver = driver;
         this.waitHelper = new WaitHelper(driver);
         this.screenshotUtil = new ScreenshotUtils(driver);
-        LoggerManager.debug("Initialized " + this.getClass().getSimpleName());
+        ConfigReader config = ConfigReader.getInstance();
+        this.snapshotMode = config.getSnapshotMode();
+        this.snapshotMaxAgeMillis = config.getSnapshotMaxAgeMillis();
+        this.defaultTimeout = config.getExplicitWait();
+        this.compileLocators = config.getLocatorCompilerEnabled();
+        this.calibrateLocators = config.getLocatorCompilerCalibrate();
+        this.singleCallConditions = config.getSingleCallConditions();
+        this.elementCache = new ElementCache(config.getElementCacheSize());
+        LoggerManager.debug("Initialized {}", getClass().getSimpleName());
     }
 
     // ==================== Element Operations ====================
 
     protected WebElement find(By locator) {
-        LoggerManager.debug("Finding element: " + locator);
-        return waitHelper.waitForVisibility(locator);
+        LoggerManager.debug("Finding element: {}", locator);
+        WebElement cached = elementCache.get(locator);
+        if (cached != null) {
+            return cached;
+        }
+        WebElement element = waitForState(locator, false, defaultTimeout);
+        elementCache.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Run an action on the (cached) element, re-finding it once if the reference went stale
+     */
+    protected <T> T withElement(By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(find(locator));
+        } catch (StaleElementReferenceException e) {
+            elementCache.stale(locator);
+            return action.apply(find(locator));
+        }
     }
 
     protected List<WebElement> findAll(By locator) {
-        LoggerManager.debug("Finding elements: " + locator);
-        return driver.findElements(locator);
+        LoggerManager.debug("Finding elements: {}", locator);
+        return driver.findElements(resolve(locator));
     }
 
     protected void click(By locator) {
         LoggerManager.step("Clicking element: " + locator);
-        waitHelper.waitForClickable(locator).click();
+        invalidateSnapshot();
+        CommandMetrics.startAction("click");
+        try {
+            WebElement element = waitForState(locator, true, defaultTimeout);
+            elementCache.put(locator, element);
+            element.click();
+        } finally {
+            CommandMetrics.endAction();
+        }
     }
 
     protected void clickByText(String text) {
@@ -51,41 +110,95 @@ public abstract class BasePage {
 
     protected void type(By locator, String text) {
         LoggerManager.step("Entering text into: " + locator);
-        WebElement element = find(locator);
-        element.clear();
-        element.sendKeys(text);
+        invalidateSnapshot();
+        CommandMetrics.startAction("type");
+        try {
+            withElement(locator, element -> {
+                element.clear();
+                element.sendKeys(text);
+                return null;
+            });
+        } finally {
+            CommandMetrics.endAction();
+        }
     }
 
     protected String getText(By locator) {
-        LoggerManager.debug("Getting text from: " + locator);
-        return find(locator).getText();
+        LoggerManager.debug("Getting text from: {}", locator);
+        if (useSnapshot(locator)) {
+            return requireSnapshot(locator).getText(locator);
+        }
+        CommandMetrics.startAction("getText");
+        try {
+            return withElement(locator, WebElement::getText);
+        } finally {
+            CommandMetrics.endAction();
+        }
     }
 
     protected void clear(By locator) {
         LoggerManager.step("Clearing text from: " + locator);
-        find(locator).clear();
+        invalidateSnapshot();
+        withElement(locator, element -> {
+            element.clear();
+            return null;
+        });
+    }
+
+    protected int count(By locator) {
+        if (useSnapshot(locator)) {
+            return HierarchySnapshots.get(driver, snapshotMaxAgeMillis).count(locator);
+        }
+        return findAll(locator).size();
     }
 
     protected boolean isDisplayed(By locator) {
+        if (useSnapshot(locator)) {
+            return isDisplayed(locator, 3);
+        }
         try {
-            return waitHelper.waitForVisibility(locator, 3).isDisplayed();
+            return waitForState(locator, false, 3) != null;
         } catch (Exception e) {
-            LoggerManager.debug("Element not displayed: " + locator);
+            LoggerManager.debug("Element not displayed: {}", locator);
             return false;
         }
     }
 
     protected boolean isDisplayed(By locator, int timeout) {
+        if (useSnapshot(locator)) {
+            return awaitSnapshot(h -> h.isDisplayed(locator), timeout) != null;
+        }
         try {
-            return waitHelper.waitForVisibility(locator, timeout).isDisplayed();
+            return waitForState(locator, false, timeout) != null;
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Single lookup presence check - returns immediately instead of waiting out a timeout
+     */
+    protected boolean isPresentNow(By locator) {
+        if (useSnapshot(locator)) {
+            return HierarchySnapshots.refresh(driver).isPresent(locator);
+        }
+        return waitHelper.isPresentNow(resolve(locator));
+    }
+
+    /**
+     * Fast negative check: true if the element is absent or disappears within budgetMillis
+     */
+    protected boolean isAbsent(By locator, long budgetMillis) {
+        return waitHelper.isAbsentWithin(resolve(locator), budgetMillis);
+    }
+
+    protected void assertAbsent(By locator, long budgetMillis) {
+        waitHelper.assertAbsent(resolve(locator), budgetMillis);
+    }
+
     protected boolean isEnabled(By locator) {
         try {
-            return find(locator).isEnabled();
+            return withElement(locator, WebElement::isEnabled);
         } catch (Exception e) {
             return false;
         }
@@ -93,38 +206,171 @@ public abstract class BasePage {
 
     protected boolean isSelected(By locator) {
         try {
-            return find(locator).isSelected();
+            return withElement(locator, WebElement::isSelected);
         } catch (Exception e) {
             return false;
         }
     }
 
     protected String getAttribute(By locator, String attribute) {
-        return find(locator).getAttribute(attribute);
+        if (useSnapshot(locator)) {
+            return requireSnapshot(locator).getAttribute(locator, attribute);
+        }
+        return withElement(locator, element -> element.getAttribute(attribute));
+    }
+
+    // ==================== Locator Compilation ====================
+
+    /**
+     * Locator used for live lookups - native equivalent of simple XPath when the compiler is enabled
+     */
+    protected By resolve(By locator) {
+        if (!compileLocators) {
+            return locator;
+        }
+        return LocatorCompiler.compile(locator, DriverFactory.getCurrentPlatform(), driver, calibrateLocators);
+    }
+
+    /**
+     * Wait until the element is visible (and enabled) using one lookup per poll where the
+     * locator strategy can express the state; the element is reused for the next action
+     */
+    private WebElement waitForState(By locator, boolean enabled, int timeoutSeconds) {
+        By resolved = resolve(locator);
+        By stateLocator = null;
+        if (singleCallConditions) {
+            Platform platform = DriverFactory.getCurrentPlatform();
+            stateLocator = LocatorCompiler.compileState(resolved, platform, enabled);
+            // An XPath compiled to a UiSelector can still express the state in its original form
+            if (stateLocator == null && resolved != locator) {
+                stateLocator = LocatorCompiler.compileState(locator, platform, enabled);
+            }
+        }
+        if (stateLocator == null) {
+            return enabled
+                    ? waitHelper.waitForClickable(resolved, timeoutSeconds)
+                    : waitHelper.waitForVisibility(resolved, timeoutSeconds);
+        }
+        return waitHelper.waitForMatch(stateLocator, timeoutSeconds, (enabled ? "clickable " : "visible ") + locator);
+    }
+
+    // ==================== Snapshot Mode ====================
+
+    private boolean useSnapshot(By locator) {
+        return snapshotMode && UiHierarchy.supports(locator);
+    }
+
+    /**
+     * Snapshot satisfying the condition, re-fetching the hierarchy until the timeout
+     * @return matching snapshot, or null on timeout
+     */
+    private UiHierarchy awaitSnapshot(Predicate<UiHierarchy> condition, int timeoutSeconds) {
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        UiHierarchy hierarchy = HierarchySnapshots.get(driver, snapshotMaxAgeMillis);
+        while (!condition.test(hierarchy)) {
+            if (System.currentTimeMillis() >= deadline) {
+                return null;
+            }
+            WaitHelper.sleep(SNAPSHOT_POLL_MILLIS);
+            hierarchy = HierarchySnapshots.refresh(driver);
+        }
+        return hierarchy;
+    }
+
+    private UiHierarchy requireSnapshot(By locator) {
+        UiHierarchy hierarchy = awaitSnapshot(h -> h.isDisplayed(locator), defaultTimeout);
+        if (hierarchy == null) {
+            throw new NoSuchElementException("Element not found in UI hierarchy: " + locator);
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Drop the cached hierarchy snapshot - call after any action that changes the UI
+     */
+    protected void invalidateSnapshot() {
+        if (snapshotMode) {
+            HierarchySnapshots.invalidate();
+        }
+    }
+
+    // ==================== Batched Queries ====================
+
+    /**
+     * Start a batch of element reads resolved with one page source fetch
+     */
+    protected ElementQueryBatch batch() {
+        return new ElementQueryBatch(driver);
+    }
+
+    // ==================== Page Transitions ====================
+
+    /**
+     * Readiness condition used by transitions - defaults to isPageLoaded()
+     * Pages with a variable load time override this to honour the timeout
+     */
+    protected boolean isReady(int timeoutSeconds) {
+        return isPageLoaded();
+    }
+
+    /**
+     * Return the target page as soon as its readiness condition holds, bounded by the timeout
+     * @param replacedSleepMillis Fixed sleep this transition replaces, for the time saved report
+     */
+    protected <T extends BasePage> T transitionTo(T target, int timeoutSeconds, long replacedSleepMillis) {
+        String transition = getClass().getSimpleName() + " -> " + target.getClass().getSimpleName();
+        // References of the page being left are not reused
+        elementCache.clear();
+        long start = System.currentTimeMillis();
+        boolean ready = target.isReady(timeoutSeconds);
+        long waited = System.currentTimeMillis() - start;
+
+        PageTransitions.record(transition, waited, replacedSleepMillis, ready);
+        if (ready) {
+            LoggerManager.debug("{} ready in {} ms", transition, waited);
+        } else {
+            LoggerManager.warn(transition + ": target page not ready after " + waited + " ms");
+        }
+        return target;
+    }
+
+    protected <T extends BasePage> T transitionTo(T target, long replacedSleepMillis) {
+        return transitionTo(target, defaultTimeout, replacedSleepMillis);
     }
 
     // ==================== Wait Operations ====================
 
     protected WebElement waitForVisibility(By locator) {
-        return waitHelper.waitForVisibility(locator);
+        return waitForState(locator, false, defaultTimeout);
     }
 
     protected WebElement waitForClickable(By locator) {
-        return waitHelper.waitForClickable(locator);
+        return waitForState(locator, true, defaultTimeout);
     }
 
     protected boolean waitForInvisibility(By locator) {
-        return waitHelper.waitForInvisibility(locator);
+        return waitHelper.waitForInvisibility(resolve(locator));
+    }
+
+    /**
+     * Race several outcomes - see WaitHelper.waitForAny
+     * @return first outcome that fired, or null on timeout
+     */
+    protected <K> WaitHelper.Outcome<K> waitForAny(Map<K, By> outcomes, int timeoutSeconds) {
+        Map<K, By> resolved = new LinkedHashMap<>();
+        outcomes.forEach((key, locator) -> resolved.put(key, resolve(locator)));
+        return waitHelper.waitForAny(resolved, timeoutSeconds);
     }
 
     protected void waitForText(String text) {
         By locator = By.xpath("//*[@text='" + text + "']");
-        waitHelper.waitForVisibility(locator);
+        waitHelper.waitForVisibility(resolve(locator));
     }
 
     // ==================== Device Operations ====================
 
     protected void hideKeyboard() {
+        invalidateSnapshot();
         try {
             driver.executeScript("mobile: hideKeyboard");
             LoggerManager.debug("Keyboard hidden");
@@ -135,6 +381,8 @@ public abstract class BasePage {
 
     protected void pressBack() {
         LoggerManager.step("Pressing back button");
+        invalidateSnapshot();
+        elementCache.clear();
         driver.navigate().back();
     }
 
@@ -0,0 +1,91 @@
+package base;
+
+import core.LoggerManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of element references for one page object
+ * References are reused until the page is left or the element goes stale.
+ * Counters are shared by all pages and logged at suite end.
+ */
+public class ElementCache {
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder staleRefinds = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final Map<By, WebElement> elements;
+
+    public ElementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.elements = new LinkedHashMap<By, WebElement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<By, WebElement> eldest) {
+                if (size() > ElementCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Cached reference, or null on a miss
+     */
+    public WebElement get(By locator) {
+        if (!isEnabled()) {
+            return null;
+        }
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return element;
+    }
+
+    public void put(By locator, WebElement element) {
+        if (isEnabled() && element != null) {
+            elements.put(locator, element);
+        }
+    }
+
+    /**
+     * Drop a reference that threw StaleElementReferenceException
+     */
+    public void stale(By locator) {
+        staleRefinds.increment();
+        elements.remove(locator);
+        LoggerManager.debug("Stale element re-found: {}", locator);
+    }
+
+    public void clear() {
+        elements.clear();
+    }
+
+    public static String getSummary() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return String.format("Element cache - lookups: %d, hits: %d, misses: %d, hit rate: %.1f%%, "
+                        + "stale re-finds: %d, evictions: %d",
+                total, hitCount, misses.sum(), total == 0 ? 0.0 : 100.0 * hitCount / total,
+                staleRefinds.sum(), evictions.sum());
+    }
+
+    public static void logSummary() {
+        LoggerManager.info(getSummary());
+    }
+}
@@ -0,0 +1,199 @@
+package base;
+
+import core.DriverFactory;
+import core.LoggerManager;
+import core.WaitHelper;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Collects several element reads and resolves them together
+ * All queries are answered from one page source fetch instead of a find plus
+ * a read per element. Locators the hierarchy cannot answer fall back to live lookups.
+ * Design Pattern: Builder
+ *
+ * Usage:
+ *   ElementQueryBatch.Result states = batch().checked(switch1).checked(switch2).resolve();
+ *   states.isChecked(switch1);
+ */
+public class ElementQueryBatch {
+
+    private enum QueryType {
+        DISPLAYED,
+        TEXT,
+        ATTRIBUTE,
+        CHECKED
+    }
+
+    private final AppiumDriver driver;
+    private final List<Query> queries = new ArrayList<>();
+
+    public ElementQueryBatch(AppiumDriver driver) {
+        this.driver = driver;
+    }
+
+    public ElementQueryBatch displayed(By locator) {
+        queries.add(new Query(QueryType.DISPLAYED, locator, null));
+        return this;
+    }
+
+    public ElementQueryBatch text(By locator) {
+        queries.add(new Query(QueryType.TEXT, locator, null));
+        return this;
+    }
+
+    public ElementQueryBatch attribute(By locator, String attribute) {
+        queries.add(new Query(QueryType.ATTRIBUTE, locator, attribute));
+        return this;
+    }
+
+    public ElementQueryBatch checked(By locator) {
+        queries.add(new Query(QueryType.CHECKED, locator, null));
+        return this;
+    }
+
+    /**
+     * Resolve all queries from a single hierarchy fetch
+     */
+    public Result resolve() {
+        return resolve(UiHierarchy.fetch(driver, DriverFactory.getCurrentPlatform()));
+    }
+
+    /**
+     * Resolve once every queried element is present, re-fetching the hierarchy until the timeout
+     */
+    public Result resolveWhenPresent(int timeoutSeconds) {
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        while (true) {
+            UiHierarchy hierarchy = UiHierarchy.fetch(driver, DriverFactory.getCurrentPlatform());
+            boolean allPresent = queries.stream()
+                    .filter(query -> UiHierarchy.supports(query.locator))
+                    .allMatch(query -> hierarchy.isPresent(query.locator));
+            if (allPresent || System.currentTimeMillis() >= deadline) {
+                return resolve(hierarchy);
+            }
+            WaitHelper.sleep(250);
+        }
+    }
+
+    private Result resolve(UiHierarchy hierarchy) {
+        Map<Query, Object> values = new HashMap<>();
+        int liveLookups = 0;
+        for (Query query : queries) {
+            if (UiHierarchy.supports(query.locator)) {
+                values.put(query, readFromHierarchy(hierarchy, query));
+            } else {
+                values.put(query, readLive(query));
+                liveLookups++;
+            }
+        }
+        int live = liveLookups;
+        LoggerManager.debug(() -> "Resolved " + queries.size() + " element queries from one page source fetch"
+                + (live > 0 ? " (" + live + " live lookups)" : ""));
+        return new Result(values);
+    }
+
+    private Object readFromHierarchy(UiHierarchy hierarchy, Query query) {
+        switch (query.type) {
+            case DISPLAYED:
+                return hierarchy.isDisplayed(query.locator);
+            case TEXT:
+                return hierarchy.getText(query.locator);
+            case CHECKED:
+                return hierarchy.isChecked(query.locator);
+            case ATTRIBUTE:
+            default:
+                return hierarchy.getAttribute(query.locator, query.attribute);
+        }
+    }
+
+    private Object readLive(Query query) {
+        List<WebElement> elements = driver.findElements(query.locator);
+        if (elements.isEmpty()) {
+            return query.type == QueryType.DISPLAYED || query.type == QueryType.CHECKED ? Boolean.FALSE : null;
+        }
+        WebElement element = elements.get(0);
+        switch (query.type) {
+            case DISPLAYED:
+                return element.isDisplayed();
+            case TEXT:
+                return element.getText();
+            case CHECKED:
+                return "true".equals(element.getAttribute("checked"));
+            case ATTRIBUTE:
+            default:
+                return element.getAttribute(query.attribute);
+        }
+    }
+
+    /**
+     * Typed results of a resolved batch
+     */
+    public static class Result {
+        private final Map<Query, Object> values;
+
+        private Result(Map<Query, Object> values) {
+            this.values = values;
+        }
+
+        public boolean isDisplayed(By locator) {
+            return Boolean.TRUE.equals(get(new Query(QueryType.DISPLAYED, locator, null)));
+        }
+
+        public String getText(By locator) {
+            return (String) get(new Query(QueryType.TEXT, locator, null));
+        }
+
+        public String getAttribute(By locator, String attribute) {
+            return (String) get(new Query(QueryType.ATTRIBUTE, locator, attribute));
+        }
+
+        public boolean isChecked(By locator) {
+            return Boolean.TRUE.equals(get(new Query(QueryType.CHECKED, locator, null)));
+        }
+
+        private Object get(Query query) {
+            if (!values.containsKey(query)) {
+                throw new IllegalArgumentException("Query was not part of the batch: " + query);
+            }
+            return values.get(query);
+        }
+    }
+
+    private static final class Query {
+        private final QueryType type;
+        private final By locator;
+        private final String attribute;
+
+        private Query(QueryType type, By locator, String attribute) {
+            this.type = type;
+            this.locator = locator;
+            this.attribute = attribute;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Query)) return false;
+            Query other = (Query) o;
+            return type == other.type && locator.equals(other.locator) && Objects.equals(attribute, other.attribute);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, locator, attribute);
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + locator + (attribute != null ? " @" + attribute : "");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package base;
+
+import core.DriverFactory;
+import core.LoggerManager;
+import io.appium.java_client.AppiumDriver;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-thread cache of the latest UI hierarchy snapshot
+ * Shared by all page objects on the thread, so a mutating action on any page
+ * invalidates it. Tracks hit rate and snapshot age.
+ */
+public class HierarchySnapshots {
+
+    private static final ThreadLocal<Snapshot> current = new ThreadLocal<>();
+
+    // Metrics
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder fetches = new LongAdder();
+    private static final LongAdder invalidations = new LongAdder();
+    private static final LongAdder totalHitAgeMillis = new LongAdder();
+    private static final AtomicLong maxHitAgeMillis = new AtomicLong();
+
+    private HierarchySnapshots() {
+        // Utility class
+    }
+
+    /**
+     * Current snapshot for the driver, fetching a new one if missing or older than maxAgeMillis
+     */
+    public static UiHierarchy get(AppiumDriver driver, long maxAgeMillis) {
+        Snapshot snapshot = current.get();
+        if (snapshot != null && snapshot.driver == driver && snapshot.hierarchy.getAgeMillis() <= maxAgeMillis) {
+            long age = snapshot.hierarchy.getAgeMillis();
+            hits.increment();
+            totalHitAgeMillis.add(age);
+            maxHitAgeMillis.accumulateAndGet(age, Math::max);
+            return snapshot.hierarchy;
+        }
+        return refresh(driver);
+    }
+
+    /**
+     * Fetch a new snapshot (one page source round trip)
+     */
+    public static UiHierarchy refresh(AppiumDriver driver) {
+        fetches.increment();
+        UiHierarchy hierarchy = UiHierarchy.fetch(driver, DriverFactory.getCurrentPlatform());
+        current.set(new Snapshot(driver, hierarchy));
+        return hierarchy;
+    }
+
+    /**
+     * Drop the snapshot after an action that may change the UI
+     */
+    public static void invalidate() {
+        if (current.get() != null) {
+            invalidations.increment();
+            current.remove();
+        }
+    }
+
+    public static String getSummary() {
+        long hitCount = hits.sum();
+        long fetchCount = fetches.sum();
+        long total = hitCount + fetchCount;
+        return String.format("Hierarchy snapshots - queries: %d, hits: %d, fetches: %d, hit rate: %.1f%%, "
+                        + "invalidations: %d, avg age on hit: %d ms, max age on hit: %d ms",
+                total, hitCount, fetchCount,
+                total == 0 ? 0.0 : 100.0 * hitCount / total,
+                invalidations.sum(),
+                hitCount == 0 ? 0 : totalHitAgeMillis.sum() / hitCount,
+                maxHitAgeMillis.get());
+    }
+
+    public static void logSummary() {
+        LoggerManager.info(getSummary());
+    }
+
+    private static class Snapshot {
+        private final AppiumDriver driver;
+        private final UiHierarchy hierarchy;
+
+        Snapshot(AppiumDriver driver, UiHierarchy hierarchy) {
+            this.driver = driver;
+            this.hierarchy = hierarchy;
+        }
+    }
+}
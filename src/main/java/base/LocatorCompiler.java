@@ -0,0 +1,361 @@
+package base;
+
+import core.LoggerManager;
+import core.Platform;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rewrites simple XPath locators into native Appium strategies
+ * XPath makes the server serialise the whole hierarchy on every lookup; the same
+ * tag/attribute match is expressed as accessibility id, UiSelector (Android) or
+ * NSPredicate / class chain (iOS). Expressions that cannot be translated stay XPath.
+ * Compiled locators are cached per platform.
+ */
+public final class LocatorCompiler {
+
+    // XPath attribute -> UiSelector method
+    private static final Map<String, String> ANDROID_STRING_ATTRIBUTES = Map.of(
+            "text", "text",
+            "content-desc", "description",
+            "resource-id", "resourceId",
+            "class", "className",
+            "package", "packageName");
+
+    private static final Map<String, String> ANDROID_BOOLEAN_ATTRIBUTES = Map.of(
+            "checkable", "checkable",
+            "checked", "checked",
+            "clickable", "clickable",
+            "enabled", "enabled",
+            "focusable", "focusable",
+            "focused", "focused",
+            "long-clickable", "longClickable",
+            "scrollable", "scrollable",
+            "selected", "selected");
+
+    private static final String ANDROID_TOAST = "android.widget.Toast";
+
+    private static final Set<String> IOS_ATTRIBUTES = Set.of(
+            "name", "label", "value", "type", "enabled", "visible", "accessible");
+
+    private static final Map<CacheKey, Compiled> cache = new ConcurrentHashMap<>();
+    private static final Map<StateKey, Optional<By>> stateCache = new ConcurrentHashMap<>();
+
+    // Calibration: measured XPath vs native lookup cost
+    private static final LongAdder calibrationSamples = new LongAdder();
+    private static final AtomicLong calibrationSavedNanos = new AtomicLong();
+
+    private LocatorCompiler() {
+        // Utility class
+    }
+
+    /**
+     * Native equivalent of the locator, or the locator itself when it cannot be translated
+     */
+    public static By compile(By locator, Platform platform) {
+        Compiled compiled = cache.computeIfAbsent(new CacheKey(locator, platform),
+                key -> translate(key.locator, key.platform));
+        compiled.lookups.increment();
+        return compiled.locator;
+    }
+
+    /**
+     * Compile and, on first use, time one lookup with each strategy to estimate the saving
+     */
+    public static By compile(By locator, Platform platform, AppiumDriver driver, boolean calibrate) {
+        By compiled = compile(locator, platform);
+        if (calibrate && compiled != locator) {
+            Compiled entry = cache.get(new CacheKey(locator, platform));
+            if (entry.calibrated.compareAndSet(false, true)) {
+                calibrate(driver, locator, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    private static void calibrate(AppiumDriver driver, By xpath, By compiled) {
+        try {
+            long start = System.nanoTime();
+            boolean foundNative = !driver.findElements(compiled).isEmpty();
+            long nativeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            boolean foundXPath = !driver.findElements(xpath).isEmpty();
+            long xpathNanos = System.nanoTime() - start;
+
+            // Only compare lookups that both found the element - misses include the implicit wait
+            if (foundNative && foundXPath) {
+                calibrationSamples.increment();
+                calibrationSavedNanos.addAndGet(xpathNanos - nativeNanos);
+                LoggerManager.debug("Calibrated {}: xpath {} ms, native {} ms",
+                        xpath, xpathNanos / 1_000_000, nativeNanos / 1_000_000);
+            }
+        } catch (Exception e) {
+            LoggerManager.debug("Locator calibration skipped for " + xpath + ": " + e.getMessage());
+        }
+    }
+
+    // ==================== State Locators ====================
+
+    /**
+     * Locator that only matches the element once it is visible (and enabled, if requested)
+     * A wait can then check readiness with a single lookup per poll instead of
+     * find + isDisplayed + isEnabled. iOS predicates filter on visible/enabled; Android id,
+     * accessibility id and class name become XPath over displayed/enabled. UiSelector locators
+     * fall back to the two-step check.
+     * @return state locator, or null when the strategy cannot express the state
+     */
+    public static By compileState(By locator, Platform platform, boolean enabled) {
+        return stateCache.computeIfAbsent(new StateKey(locator, platform, enabled),
+                key -> Optional.ofNullable(translateState(locator, platform, enabled))).orElse(null);
+    }
+
+    private static By translateState(By locator, Platform platform, boolean enabled) {
+        String value = UiHierarchy.value(locator);
+        String strategy = UiHierarchy.strategy(locator);
+        if (platform == Platform.IOS) {
+            String state = enabled ? " AND visible == 1 AND enabled == 1" : " AND visible == 1";
+            switch (strategy) {
+                case "id":
+                case "accessibilityId":
+                    return AppiumBy.iOSNsPredicateString("name == " + quote(value) + state);
+                case "className":
+                    return AppiumBy.iOSNsPredicateString("type == " + quote(value) + state);
+                case "iOSNsPredicate":
+                    return AppiumBy.iOSNsPredicateString("(" + value + ")" + state);
+                case "xpath":
+                    return By.xpath("(" + value + ")[@visible='true'" + (enabled ? " and @enabled='true']" : "]"));
+                default:
+                    return null;
+            }
+        }
+
+        // UiSelector has no displayed filter: views laid out off-screen (e.g. inside a ScrollView)
+        // would match, so the state is expressed as an XPath over the displayed attribute
+        String state = enabled ? "[@displayed='true' and @enabled='true']" : "[@displayed='true']";
+        switch (strategy) {
+            case "xpath":
+                return By.xpath("(" + value + ")" + state);
+            case "id":
+                if (xpathLiteral(value) == null) {
+                    return null;
+                }
+                // Unqualified ids are matched against the id part, as UiAutomator2 does
+                return By.xpath(value.contains(":")
+                        ? "//*[@resource-id=" + xpathLiteral(value) + "]" + state
+                        : "//*[substring-after(@resource-id, ':id/')=" + xpathLiteral(value) + "]" + state);
+            case "accessibilityId":
+                return xpathLiteral(value) == null ? null
+                        : By.xpath("//*[@content-desc=" + xpathLiteral(value) + "]" + state);
+            case "className":
+                return value.matches("[A-Za-z0-9_.\\-]+") ? By.xpath("//" + value + state) : null;
+            default:
+                // UiSelector expressions cannot be rewritten as XPath in general
+                return null;
+        }
+    }
+
+    /**
+     * XPath 1.0 string literal, or null when the value contains both quote characters
+     */
+    private static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        return value.contains("\"") ? null : '"' + value + '"';
+    }
+
+    // ==================== Translation ====================
+
+    private static Compiled translate(By locator, Platform platform) {
+        if (!"xpath".equals(UiHierarchy.strategy(locator))) {
+            return new Compiled(locator, false);
+        }
+        SimpleXPath xpath = SimpleXPath.parse(UiHierarchy.value(locator));
+        By compiled = xpath == null ? null
+                : platform == Platform.IOS ? translateIos(xpath) : translateAndroid(xpath);
+        if (compiled == null) {
+            LoggerManager.debug("Locator kept as XPath: {}", locator);
+            return new Compiled(locator, false);
+        }
+        LoggerManager.debug("Locator rewritten: {} -> {}", locator, compiled);
+        return new Compiled(compiled, true);
+    }
+
+    private static By translateAndroid(SimpleXPath xpath) {
+        Map<String, String> attributes = xpath.getAttributes();
+        if (xpath.isAnyTag() && attributes.size() == 1 && attributes.containsKey("content-desc")) {
+            return AppiumBy.accessibilityId(attributes.get("content-desc"));
+        }
+        if (xpath.isAnyTag() && attributes.isEmpty()) {
+            return null;
+        }
+        if (ANDROID_TOAST.equals(xpath.getTag())) {
+            // UiAutomator2 only reports toasts to XPath lookups
+            return null;
+        }
+
+        StringBuilder selector = new StringBuilder("new UiSelector()");
+        if (!xpath.isAnyTag()) {
+            selector.append(".className(").append(quote(xpath.getTag())).append(')');
+        }
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            String name = attribute.getKey();
+            String value = attribute.getValue();
+            if (ANDROID_STRING_ATTRIBUTES.containsKey(name)) {
+                selector.append('.').append(ANDROID_STRING_ATTRIBUTES.get(name))
+                        .append('(').append(quote(value)).append(')');
+            } else if (ANDROID_BOOLEAN_ATTRIBUTES.containsKey(name) && isBoolean(value)) {
+                selector.append('.').append(ANDROID_BOOLEAN_ATTRIBUTES.get(name))
+                        .append('(').append(value).append(')');
+            } else {
+                return null;
+            }
+        }
+        return AppiumBy.androidUIAutomator(selector.toString());
+    }
+
+    private static By translateIos(SimpleXPath xpath) {
+        Map<String, String> attributes = xpath.getAttributes();
+        if (xpath.isAnyTag() && attributes.size() == 1 && attributes.containsKey("name")) {
+            return AppiumBy.accessibilityId(attributes.get("name"));
+        }
+        if (attributes.isEmpty()) {
+            return xpath.isAnyTag() ? null : AppiumBy.iOSClassChain("**/" + xpath.getTag());
+        }
+
+        StringJoiner predicate = new StringJoiner(" AND ");
+        if (!xpath.isAnyTag()) {
+            predicate.add("type == " + quote(xpath.getTag()));
+        }
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            if (!IOS_ATTRIBUTES.contains(attribute.getKey())) {
+                return null;
+            }
+            predicate.add(attribute.getKey() + " == " + quote(attribute.getValue()));
+        }
+        return AppiumBy.iOSNsPredicateString(predicate.toString());
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static boolean isBoolean(String value) {
+        return "true".equals(value) || "false".equals(value);
+    }
+
+    // ==================== Reporting ====================
+
+    /**
+     * Rewritten locators with their lookup counts and the estimated time saved
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder("Locator compiler report\n");
+        long rewrittenLookups = 0;
+        int rewritten = 0;
+        int kept = 0;
+        for (Map.Entry<CacheKey, Compiled> entry : cache.entrySet()) {
+            Compiled compiled = entry.getValue();
+            if (!compiled.rewritten) {
+                if ("xpath".equals(UiHierarchy.strategy(entry.getKey().locator))) {
+                    kept++;
+                    report.append(String.format("  [%s] kept as XPath: %s (lookups: %d)%n",
+                            entry.getKey().platform, entry.getKey().locator, compiled.lookups.sum()));
+                }
+                continue;
+            }
+            rewritten++;
+            rewrittenLookups += compiled.lookups.sum();
+            report.append(String.format("  [%s] rewritten: %s -> %s (lookups: %d)%n",
+                    entry.getKey().platform, entry.getKey().locator, compiled.locator, compiled.lookups.sum()));
+        }
+        report.append(String.format("Rewritten: %d, kept as XPath: %d, native lookups: %d",
+                rewritten, kept, rewrittenLookups));
+
+        long samples = calibrationSamples.sum();
+        if (samples > 0) {
+            long avgSavedMillis = calibrationSavedNanos.get() / samples / 1_000_000;
+            report.append(String.format(", measured saving: %d ms/lookup (%d samples), estimated time saved: %d ms",
+                    avgSavedMillis, samples, avgSavedMillis * rewrittenLookups));
+        } else {
+            report.append(", time saved: not measured (enable locator.compiler.calibrate)");
+        }
+        return report.toString();
+    }
+
+    public static void logReport() {
+        LoggerManager.info(getReport());
+    }
+
+    private static final class Compiled {
+        private final By locator;
+        private final boolean rewritten;
+        private final LongAdder lookups = new LongAdder();
+        private final AtomicBoolean calibrated = new AtomicBoolean();
+
+        Compiled(By locator, boolean rewritten) {
+            this.locator = locator;
+            this.rewritten = rewritten;
+        }
+    }
+
+    private static final class CacheKey {
+        private final By locator;
+        private final Platform platform;
+
+        CacheKey(By locator, Platform platform) {
+            this.locator = locator;
+            this.platform = platform;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey)) return false;
+            CacheKey other = (CacheKey) o;
+            return platform == other.platform && locator.equals(other.locator);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * locator.hashCode() + platform.hashCode();
+        }
+    }
+
+    private static final class StateKey {
+        private final By locator;
+        private final Platform platform;
+        private final boolean enabled;
+
+        StateKey(By locator, Platform platform, boolean enabled) {
+            this.locator = locator;
+            this.platform = platform;
+            this.enabled = enabled;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StateKey)) return false;
+            StateKey other = (StateKey) o;
+            return platform == other.platform && enabled == other.enabled && locator.equals(other.locator);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locator, platform, enabled);
+        }
+    }
+}
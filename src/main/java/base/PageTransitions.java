@@ -0,0 +1,68 @@
+package base;
+
+import core.LoggerManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics for condition-based page transitions
+ * Compares the time each transition actually waited for its target page
+ * with the fixed sleep it replaced.
+ */
+public class PageTransitions {
+
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private PageTransitions() {
+        // Utility class
+    }
+
+    /**
+     * Record one transition
+     * @param waitedMillis Time spent waiting for the target page to become ready
+     * @param replacedSleepMillis Fixed sleep the transition used before
+     */
+    public static void record(String transition, long waitedMillis, long replacedSleepMillis, boolean ready) {
+        Stats entry = stats.computeIfAbsent(transition, key -> new Stats());
+        entry.count.increment();
+        entry.waitedMillis.add(waitedMillis);
+        entry.replacedMillis.add(replacedSleepMillis);
+        if (!ready) {
+            entry.timeouts.increment();
+        }
+    }
+
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder("Page transitions\n");
+        long totalWaited = 0;
+        long totalReplaced = 0;
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            Stats value = entry.getValue();
+            long count = value.count.sum();
+            totalWaited += value.waitedMillis.sum();
+            totalReplaced += value.replacedMillis.sum();
+            summary.append(String.format("  %-28s count: %3d, avg wait: %5d ms, replaced sleep: %5d ms, timeouts: %d%n",
+                    entry.getKey(), count, value.waitedMillis.sum() / count,
+                    value.replacedMillis.sum() / count, value.timeouts.sum()));
+        }
+        summary.append(String.format("Waited: %d ms, fixed sleeps would have taken: %d ms, time saved: %d ms",
+                totalWaited, totalReplaced, totalReplaced - totalWaited));
+        return summary.toString();
+    }
+
+    public static void logSummary() {
+        if (!stats.isEmpty()) {
+            LoggerManager.info(getSummary());
+        }
+    }
+
+    private static class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder waitedMillis = new LongAdder();
+        private final LongAdder replacedMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+    }
+}
@@ -0,0 +1,95 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed form of simple XPath locators: //tag[@attr='value' and @other='value']
+ * Covers the patterns used by the page objects so they can be matched without
+ * a full XPath engine. Anything more complex (axes, positions, functions) is rejected.
+ */
+public final class SimpleXPath {
+
+    private static final Pattern XPATH = Pattern.compile("^//([A-Za-z0-9_.\\-]+|\\*)((?:\\[[^\\[\\]]+\\])*)$");
+    private static final Pattern PREDICATE_BLOCK = Pattern.compile("\\[([^\\[\\]]+)\\]");
+    private static final Pattern ATTRIBUTE_EQUALS =
+            Pattern.compile("^\\s*@([A-Za-z0-9_:\\-]+)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")\\s*$");
+
+    private final String tag;
+    private final Map<String, String> attributes;
+
+    private SimpleXPath(String tag, Map<String, String> attributes) {
+        this.tag = tag;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * Parse an XPath expression
+     * @return parsed expression, or null when it is not a simple tag/attribute match
+     */
+    public static SimpleXPath parse(String expression) {
+        Matcher matcher = XPATH.matcher(expression.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        Matcher blocks = PREDICATE_BLOCK.matcher(matcher.group(2));
+        while (blocks.find()) {
+            for (String condition : splitAnd(blocks.group(1))) {
+                Matcher attribute = ATTRIBUTE_EQUALS.matcher(condition);
+                if (!attribute.matches() || attributes.containsKey(attribute.group(1))) {
+                    return null;
+                }
+                String value = attribute.group(2) != null ? attribute.group(2) : attribute.group(3);
+                attributes.put(attribute.group(1), value);
+            }
+        }
+        return new SimpleXPath(matcher.group(1), attributes);
+    }
+
+    private static List<String> splitAnd(String predicate) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < predicate.length(); i++) {
+            char c = predicate.charAt(i);
+            if (quote == 0 && (c == '\'' || c == '"')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            } else if (quote == 0 && predicate.startsWith(" and ", i)) {
+                parts.add(current.toString());
+                current.setLength(0);
+                i += 4;
+                continue;
+            }
+            current.append(c);
+        }
+        parts.add(current.toString());
+        return parts;
+    }
+
+    /**
+     * Element tag, or "*" for any element
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    public boolean isAnyTag() {
+        return "*".equals(tag);
+    }
+
+    /**
+     * Attribute equality conditions in declaration order
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+}
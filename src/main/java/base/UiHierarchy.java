@@ -0,0 +1,315 @@
+package base;
+
+import core.Platform;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UI hierarchy parsed from a single page source fetch
+ * The page source is read with a streaming (StAX) parser into a lightweight node list,
+ * so queries are answered locally instead of one Appium round trip per element.
+ * Supports id, xpath, accessibility id and class name locators; simple XPath
+ * (//tag[@attr='value']) is matched directly, anything else goes through a full XPath engine.
+ */
+public class UiHierarchy {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private final String pageSource;
+    private final Platform platform;
+    private final List<UiNode> nodes;
+    private final long fetchedAt = System.currentTimeMillis();
+
+    // Built lazily for complex XPath expressions only
+    private Document document;
+    private Map<Element, UiNode> domToNode;
+
+    private UiHierarchy(String pageSource, Platform platform, List<UiNode> nodes) {
+        this.pageSource = pageSource;
+        this.platform = platform;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Fetch the page source from the device (one round trip) and parse it
+     */
+    public static UiHierarchy fetch(AppiumDriver driver, Platform platform) {
+        return parse(driver.getPageSource(), platform);
+    }
+
+    public static UiHierarchy parse(String pageSource, Platform platform) {
+        List<UiNode> nodes = new ArrayList<>();
+        Deque<UiNode> parents = new ArrayDeque<>();
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(pageSource));
+            try {
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        Map<String, String> attributes = new HashMap<>(reader.getAttributeCount() * 2);
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        }
+                        UiNode node = new UiNode(reader.getLocalName(), attributes, parents.peek());
+                        nodes.add(node);
+                        parents.push(node);
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        parents.pop();
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Failed to parse page source", e);
+        }
+        return new UiHierarchy(pageSource, platform, Collections.unmodifiableList(nodes));
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        return factory;
+    }
+
+    /**
+     * Check if the locator strategy can be answered from the hierarchy
+     */
+    public static boolean supports(By locator) {
+        switch (strategy(locator)) {
+            case "id":
+            case "xpath":
+            case "accessibilityId":
+            case "className":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Milliseconds since the page source was fetched
+     */
+    public long getAgeMillis() {
+        return System.currentTimeMillis() - fetchedAt;
+    }
+
+    /**
+     * Find all elements matching the locator
+     */
+    public List<UiNode> findAll(By locator) {
+        String value = value(locator);
+        switch (strategy(locator)) {
+            case "id":
+                return filter(node -> platform == Platform.IOS
+                        ? value.equals(node.getAttribute("name"))
+                        : matchesResourceId(node.getAttribute("resource-id"), value));
+            case "accessibilityId":
+                String accessibilityAttribute = platform == Platform.IOS ? "name" : "content-desc";
+                return filter(node -> value.equals(node.getAttribute(accessibilityAttribute)));
+            case "className":
+                return filter(node -> value.equals(node.getTag()));
+            case "xpath":
+                SimpleXPath xpath = SimpleXPath.parse(value);
+                return xpath != null ? filter(node -> node.matches(xpath)) : evaluateXPath(value);
+            default:
+                throw new UnsupportedOperationException("Locator not supported in hierarchy: " + locator);
+        }
+    }
+
+    public UiNode find(By locator) {
+        List<UiNode> matches = findAll(locator);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    public boolean isPresent(By locator) {
+        return find(locator) != null;
+    }
+
+    public int count(By locator) {
+        return findAll(locator).size();
+    }
+
+    public boolean isDisplayed(By locator) {
+        UiNode node = find(locator);
+        if (node == null) {
+            return false;
+        }
+        String displayed = node.getAttribute(platform == Platform.IOS ? "visible" : "displayed");
+        // Older UiAutomator2 servers omit the attribute for visible nodes
+        return displayed == null || "true".equals(displayed);
+    }
+
+    public String getText(By locator) {
+        UiNode node = find(locator);
+        if (node == null) {
+            return null;
+        }
+        if (platform == Platform.IOS) {
+            String value = node.getAttribute("value");
+            return value == null || value.isEmpty() ? node.getAttribute("label") : value;
+        }
+        return node.getAttribute("text");
+    }
+
+    public String getAttribute(By locator, String attribute) {
+        UiNode node = find(locator);
+        return node == null ? null : node.getAttribute(attribute);
+    }
+
+    public boolean isChecked(By locator) {
+        UiNode node = find(locator);
+        if (node == null) {
+            return false;
+        }
+        return platform == Platform.IOS
+                ? "1".equals(node.getAttribute("value"))
+                : "true".equals(node.getAttribute("checked"));
+    }
+
+    // ==================== Matching ====================
+
+    private interface NodeMatcher {
+        boolean matches(UiNode node);
+    }
+
+    private List<UiNode> filter(NodeMatcher matcher) {
+        List<UiNode> result = new ArrayList<>();
+        for (UiNode node : nodes) {
+            if (matcher.matches(node)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Full XPath evaluation on a DOM built from the same page source
+     */
+    private synchronized List<UiNode> evaluateXPath(String expression) {
+        try {
+            if (document == null) {
+                buildDocument();
+            }
+            NodeList matches = (NodeList) XPathFactory.newInstance().newXPath()
+                    .evaluate(expression, document, XPathConstants.NODESET);
+            List<UiNode> result = new ArrayList<>();
+            for (int i = 0; i < matches.getLength(); i++) {
+                UiNode node = domToNode.get(matches.item(i));
+                if (node != null) {
+                    result.add(node);
+                }
+            }
+            return result;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("Invalid xpath: " + expression, e);
+        }
+    }
+
+    private void buildDocument() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(pageSource)));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse page source", e);
+        }
+
+        // DOM elements and streamed nodes share document order
+        domToNode = new IdentityHashMap<>();
+        NodeList elements = document.getElementsByTagName("*");
+        for (int i = 0; i < elements.getLength() && i < nodes.size(); i++) {
+            domToNode.put((Element) elements.item(i), nodes.get(i));
+        }
+    }
+
+    private static boolean matchesResourceId(String resourceId, String id) {
+        return resourceId != null && (resourceId.equals(id) || (!id.contains(":") && resourceId.endsWith(":id/" + id)));
+    }
+
+    // ==================== Locator Parsing ====================
+
+    /**
+     * Locator strategy, e.g. "id" for By.id and "accessibilityId" for AppiumBy.accessibilityId
+     */
+    static String strategy(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            return "";
+        }
+        String prefix = description.substring(0, separator);
+        return prefix.substring(prefix.lastIndexOf('.') + 1);
+    }
+
+    static String value(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        return separator < 0 ? description : description.substring(separator + 2);
+    }
+
+    /**
+     * Element of the parsed hierarchy
+     */
+    public static class UiNode {
+        private final String tag;
+        private final Map<String, String> attributes;
+        private final UiNode parent;
+
+        UiNode(String tag, Map<String, String> attributes, UiNode parent) {
+            this.tag = tag;
+            this.attributes = attributes;
+            this.parent = parent;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        public UiNode getParent() {
+            return parent;
+        }
+
+        boolean matches(SimpleXPath xpath) {
+            if (!xpath.isAnyTag() && !xpath.getTag().equals(tag)) {
+                return false;
+            }
+            for (Map.Entry<String, String> condition : xpath.getAttributes().entrySet()) {
+                if (!condition.getValue().equals(attributes.get(condition.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
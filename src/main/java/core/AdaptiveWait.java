@@ -0,0 +1,76 @@
+package core;
+
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+/**
+ * Explicit wait with adaptive polling
+ * Checks the condition immediately, then polls with exponential backoff
+ * (initial poll doubling up to the max poll). When a locator has been waited
+ * for before, the first poll is scheduled close to its learned typical latency.
+ * Instances hold no per-call state and are reused by WaitHelper.
+ */
+public class AdaptiveWait {
+
+    private final AppiumDriver driver;
+    private final long timeoutMillis;
+    private final long initialPollMillis;
+    private final long maxPollMillis;
+
+    public AdaptiveWait(AppiumDriver driver, long timeoutMillis, long initialPollMillis, long maxPollMillis) {
+        this.driver = driver;
+        this.timeoutMillis = timeoutMillis;
+        this.initialPollMillis = Math.max(1, initialPollMillis);
+        this.maxPollMillis = Math.max(this.initialPollMillis, maxPollMillis);
+    }
+
+    /**
+     * Wait until the condition returns a non-null, non-false value
+     * @param key Wait key for statistics and learned latency, e.g. "visible By.id: x"
+     */
+    public <T> T until(ExpectedCondition<T> condition, String key) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+        long typical = WaitStats.getTypicalMillis(key);
+        long poll = initialPollMillis;
+        int polls = 0;
+        RuntimeException lastException = null;
+
+        while (true) {
+            polls++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && (!(value instanceof Boolean) || Boolean.TRUE.equals(value))) {
+                    WaitStats.recordSuccess(key, System.currentTimeMillis() - start, polls);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long now = System.currentTimeMillis();
+            if (now >= deadline) {
+                WaitStats.recordTimeout(key, polls);
+                throw new TimeoutException(String.format(
+                        "Expected condition failed: waiting for %s (tried for %d ms with %d adaptive polls)",
+                        condition, now - start, polls), lastException);
+            }
+
+            long sleep = poll;
+            if (polls == 1 && typical > initialPollMillis) {
+                // Skip polls that would almost certainly be too early for this locator
+                sleep = Math.max(initialPollMillis, typical * 3 / 4 - (now - start));
+            } else {
+                poll = Math.min(maxPollMillis, poll * 2);
+            }
+            WaitHelper.sleep((int) Math.min(sleep, deadline - now));
+        }
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
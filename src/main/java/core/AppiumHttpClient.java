@@ -0,0 +1,230 @@
+package core;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpTimeoutException;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Appium command transport built on a shared java.net.http.HttpClient
+ * All drivers created by one Factory share a single connection pool with keep-alive,
+ * tuned connect/read timeouts, a selectable HTTP version and optional gzip responses.
+ * Timeouts surface as Selenium's TimeoutException, other I/O failures as UncheckedIOException;
+ * HTTP error statuses are returned as responses for the W3C codec to decode.
+ * WebSockets (BiDi, log streaming) are opened by Selenium's default client.
+ * Design Pattern: Adapter
+ */
+public class AppiumHttpClient implements HttpClient {
+
+    // Headers managed by java.net.http itself
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade");
+
+    private final java.net.http.HttpClient client;
+    private final ClientConfig config;
+    private final URI baseUri;
+    private final Duration readTimeout;
+    private final boolean compression;
+    private final HttpHandler handler;
+    private HttpClient socketClient;
+
+    private AppiumHttpClient(java.net.http.HttpClient client, ClientConfig config,
+                             Duration readTimeout, boolean compression) {
+        this.client = client;
+        this.config = config;
+        this.baseUri = config.baseUri();
+        this.readTimeout = readTimeout;
+        this.compression = compression;
+        this.handler = ((HttpHandler) this::send).with(config.filter());
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) {
+        return handler.execute(request);
+    }
+
+    private HttpResponse send(HttpRequest request) {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(buildUri(request))
+                .timeout(readTimeout);
+
+        request.forEachHeader((name, value) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                builder.header(name, value);
+            }
+        });
+        if (compression) {
+            builder.setHeader("Accept-Encoding", "gzip");
+        }
+
+        switch (request.getMethod()) {
+            case GET:
+                builder.GET();
+                break;
+            case DELETE:
+                builder.DELETE();
+                break;
+            default:
+                byte[] body = Contents.bytes(request.getContent());
+                builder.method(request.getMethod().name(), BodyPublishers.ofByteArray(body));
+        }
+
+        try {
+            java.net.http.HttpResponse<byte[]> response = client.send(builder.build(), BodyHandlers.ofByteArray());
+            return toSeleniumResponse(response);
+        } catch (HttpTimeoutException e) {
+            throw new TimeoutException("Appium did not answer " + request.getMethod() + " " + request.getUri()
+                    + " in time: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new IOException("Interrupted while calling Appium", e));
+        }
+    }
+
+    private URI buildUri(HttpRequest request) {
+        String base = baseUri.toString().replaceAll("/+$", "");
+        StringBuilder uri = new StringBuilder(base).append(request.getUri());
+
+        StringJoiner query = new StringJoiner("&");
+        for (String name : request.getQueryParameterNames()) {
+            for (String value : request.getQueryParameters(name)) {
+                query.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        if (query.length() > 0) {
+            uri.append('?').append(query);
+        }
+        return URI.create(uri.toString());
+    }
+
+    private HttpResponse toSeleniumResponse(java.net.http.HttpResponse<byte[]> response) throws IOException {
+        HttpResponse result = new HttpResponse();
+        result.setStatus(response.statusCode());
+
+        boolean gzipped = response.headers().allValues("content-encoding").contains("gzip");
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            String name = header.getKey();
+            // A decoded body has neither the encoding nor the compressed length
+            if (gzipped && ("content-encoding".equalsIgnoreCase(name) || "content-length".equalsIgnoreCase(name))) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                result.addHeader(header.getKey(), value);
+            }
+        }
+
+        byte[] body = response.body();
+        if (gzipped) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            }
+        }
+        result.setContent(Contents.bytes(body));
+        return result;
+    }
+
+    /**
+     * Open the socket with Selenium's default client, created on first use
+     */
+    @Override
+    public synchronized WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+        if (socketClient == null) {
+            socketClient = HttpClient.Factory.createDefault().createClient(config);
+        }
+        return socketClient.openSocket(request, listener);
+    }
+
+    @Override
+    public synchronized void close() {
+        // The underlying connection pool is shared by all drivers - only the socket client is per session
+        if (socketClient != null) {
+            socketClient.close();
+            socketClient = null;
+        }
+    }
+
+    /**
+     * Creates clients that share one connection pool
+     */
+    public static class Factory implements HttpClient.Factory {
+
+        private final java.net.http.HttpClient sharedClient;
+        private final Duration readTimeout;
+        private final boolean compression;
+
+        public Factory(Duration connectTimeout, Duration readTimeout,
+                       java.net.http.HttpClient.Version version, boolean compression) {
+            this.readTimeout = readTimeout;
+            this.compression = compression;
+            this.sharedClient = java.net.http.HttpClient.newBuilder()
+                    .connectTimeout(connectTimeout)
+                    .version(version)
+                    .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
+                    .build();
+        }
+
+        /**
+         * Build factory from config.properties
+         * Side effect: sets the JVM-wide jdk.httpclient.keepalive.timeout and
+         * jdk.httpclient.connectionPoolSize system properties, which the JDK reads once when
+         * the first java.net.http client is created - so they apply to every java.net.http
+         * client in this JVM, and only if this runs before any of them exists (DriverFactory
+         * calls it once during class initialisation). Values passed with -D are left alone.
+         */
+        public static Factory fromConfig(ConfigReader config) {
+            setIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(config.getHttpKeepAliveSeconds()));
+            if (config.getHttpPoolSize() > 0) {
+                setIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(config.getHttpPoolSize()));
+            }
+
+            java.net.http.HttpClient.Version version = "HTTP_2".equalsIgnoreCase(config.getHttpVersion())
+                    ? java.net.http.HttpClient.Version.HTTP_2
+                    : java.net.http.HttpClient.Version.HTTP_1_1;
+
+            LoggerManager.info("Appium transport: " + version
+                    + ", connect timeout " + config.getHttpConnectTimeoutSeconds() + "s"
+                    + ", read timeout " + config.getHttpReadTimeoutSeconds() + "s"
+                    + ", compression " + (config.getHttpCompression() ? "on" : "off"));
+
+            return new Factory(
+                    Duration.ofSeconds(config.getHttpConnectTimeoutSeconds()),
+                    Duration.ofSeconds(config.getHttpReadTimeoutSeconds()),
+                    version,
+                    config.getHttpCompression());
+        }
+
+        private static void setIfAbsent(String property, String value) {
+            if (System.getProperty(property) == null) {
+                System.setProperty(property, value);
+            }
+        }
+
+        @Override
+        public HttpClient createClient(ClientConfig config) {
+            return new AppiumHttpClient(sharedClient, config, readTimeout, compression);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package core;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background log writer fed by a bounded lock-free ring buffer
+ * Producers (test threads) claim a slot with a single CAS and publish it with a
+ * sequence number - no locks, no I/O on the calling thread. One writer thread
+ * drains in batches and flushes on an interval, or immediately after an urgent line.
+ * When the buffer is full, lines are dropped or the producer waits, per OverflowPolicy.
+ */
+public class AsyncLogWriter {
+
+    public enum OverflowPolicy {
+        /** Discard the line and count it */
+        DROP,
+        /** Wait for the writer to free a slot */
+        BLOCK
+    }
+
+    private static final int BATCH_SIZE = 256;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // Writer thread only
+
+    private final OverflowPolicy policy;
+    private final long flushIntervalNanos;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final RollingLogFile file;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+    private volatile boolean urgentPending;
+    // Producers between their running check and publishing their slot
+    private final AtomicInteger activeProducers = new AtomicInteger();
+
+    // Metrics
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+
+    /**
+     * @param capacity Buffer size in lines, rounded up to a power of two
+     * @param file Log file (not auto-flushing), or null for console only
+     */
+    public AsyncLogWriter(int capacity, OverflowPolicy policy, long flushIntervalMillis,
+                          PrintStream out, PrintStream err, RollingLogFile file) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.policy = policy;
+        this.flushIntervalNanos = Math.max(1, flushIntervalMillis) * 1_000_000L;
+        this.out = out;
+        this.err = err;
+        this.file = file;
+
+        this.writer = new Thread(this::drainLoop, "async-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue a line without blocking (unless the policy is BLOCK and the buffer is full)
+     * @param consoleLine Line for the console, or null
+     * @param fileLine Line for the log file, or null
+     * @param urgent Flush as soon as the writer has written this line
+     * @return false when the line was dropped or the writer is closed
+     */
+    public boolean offer(String consoleLine, String fileLine, boolean toStdErr, boolean urgent) {
+        // Registered before the running check, so close() cannot miss a line in flight
+        activeProducers.incrementAndGet();
+        try {
+            return enqueue(consoleLine, fileLine, toStdErr, urgent);
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+
+    private boolean enqueue(String consoleLine, String fileLine, boolean toStdErr, boolean urgent) {
+        if (!running) {
+            return false;
+        }
+        Entry entry = new Entry(consoleLine, fileLine, toStdErr);
+        boolean waited = false;
+        long position;
+        while (true) {
+            position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                // Buffer full
+                LockSupport.unpark(writer);
+                if (policy == OverflowPolicy.DROP || !running) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                if (!waited) {
+                    blocked.incrementAndGet();
+                    waited = true;
+                }
+                LockSupport.parkNanos(50_000);
+            }
+        }
+
+        int index = (int) (position & mask);
+        slots.set(index, entry);
+        sequences.set(index, position + 1);
+
+        if (urgent) {
+            urgentPending = true;
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private Entry poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        Entry entry = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return entry;
+    }
+
+    private void drainLoop() {
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (true) {
+            int batch = 0;
+            Entry entry;
+            while (batch < BATCH_SIZE && (entry = poll()) != null) {
+                write(entry);
+                batch++;
+            }
+            dirty |= batch > 0;
+
+            long now = System.nanoTime();
+            if (dirty && (urgentPending || now - lastFlush >= flushIntervalNanos)) {
+                urgentPending = false;
+                flush();
+                dirty = false;
+                lastFlush = now;
+            }
+
+            if (batch == 0) {
+                if (!running) {
+                    // Exit only once no producer can still publish a claimed slot
+                    if (activeProducers.get() == 0 && head == tail.get()) {
+                        break;
+                    }
+                    Thread.onSpinWait();
+                    continue;
+                }
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+        flush();
+    }
+
+    private void write(Entry entry) {
+        if (entry.consoleLine != null) {
+            (entry.toStdErr ? err : out).println(entry.consoleLine);
+        }
+        if (entry.fileLine != null && file != null) {
+            file.println(entry.fileLine);
+        }
+        written.incrementAndGet();
+    }
+
+    private void flush() {
+        out.flush();
+        err.flush();
+        if (file != null) {
+            file.flush();
+        }
+    }
+
+    /**
+     * Stop accepting lines, write everything still buffered and flush
+     */
+    public void close(long timeoutMillis) {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            System.err.println("Async log writer did not drain within " + timeoutMillis + " ms");
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public String getSummary() {
+        return "Async log - written: " + written.get()
+                + ", dropped: " + dropped.get()
+                + ", producers blocked: " + blocked.get()
+                + ", buffer: " + (mask + 1) + " lines (" + policy + ")";
+    }
+
+    private static final class Entry {
+        private final String consoleLine;
+        private final String fileLine;
+        private final boolean toStdErr;
+
+        Entry(String consoleLine, String fileLine, boolean toStdErr) {
+            this.consoleLine = consoleLine;
+            this.fileLine = fileLine;
+            this.toStdErr = toStdErr;
+        }
+    }
+}
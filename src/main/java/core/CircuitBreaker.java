@@ -0,0 +1,153 @@
+package core;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Circuit breaker guarding Appium session creation
+ * CLOSED: attempts allowed. OPEN after N consecutive failures: attempts fail fast
+ * until the backoff elapses and a health probe succeeds (HALF_OPEN), then one
+ * successful attempt closes the breaker again. Backoff doubles on every failed probe.
+ * Only one thread probes and makes the HALF_OPEN trial attempt.
+ * Design Pattern: Circuit Breaker
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long probeCacheMillis;
+    private final BooleanSupplier healthProbe;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long backoffMillis;
+    private long openedAt;
+    private long lastProbeAt;
+    private boolean lastProbeResult;
+    private boolean probing;
+    // Thread running the single HALF_OPEN trial attempt
+    private Thread trialOwner;
+
+    public CircuitBreaker(String name, int failureThreshold, long initialBackoffMillis, long maxBackoffMillis,
+                          long probeCacheMillis, BooleanSupplier healthProbe) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.probeCacheMillis = probeCacheMillis;
+        this.healthProbe = healthProbe;
+        this.backoffMillis = initialBackoffMillis;
+    }
+
+    /**
+     * Check that an attempt may proceed, otherwise fail fast
+     * The health probe runs outside the lock, so a slow probe never blocks other threads.
+     * Once the backoff elapses exactly one thread probes and makes the trial attempt;
+     * the others keep failing fast until it has recorded its outcome.
+     * @throws InfrastructureException when the breaker is open or the health probe fails
+     */
+    public void beforeAttempt() {
+        boolean trial;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (state == State.OPEN && trialOwner == null) {
+                long remaining = openedAt + backoffMillis - now;
+                if (remaining > 0) {
+                    throw new InfrastructureException(name + " circuit is open after " + consecutiveFailures
+                            + " consecutive failures, next probe in " + (remaining / 1000 + 1) + "s");
+                }
+                trialOwner = Thread.currentThread();
+                trial = true;
+            } else if (state != State.CLOSED) {
+                throw new InfrastructureException(name + " circuit is half-open, a trial attempt is in progress");
+            } else if (probing || (lastProbeAt != 0 && now - lastProbeAt <= probeCacheMillis)) {
+                // Pre-flight result cached between attempts, or being refreshed by another thread
+                if (probing || lastProbeResult) {
+                    return;
+                }
+                recordFailure();
+                throw new InfrastructureException(name + " did not respond to the status probe");
+            } else {
+                probing = true;
+                trial = false;
+            }
+        }
+
+        boolean up = false;
+        try {
+            up = healthProbe.getAsBoolean();
+            LoggerManager.debug("{} status probe: {}", name, up ? "UP" : "DOWN");
+        } finally {
+            onProbeResult(trial, up);
+        }
+    }
+
+    private synchronized void onProbeResult(boolean trial, boolean up) {
+        long now = System.currentTimeMillis();
+        lastProbeAt = now;
+        lastProbeResult = up;
+        if (trial) {
+            if (!up) {
+                trialOwner = null;
+                openedAt = now;
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+                throw new InfrastructureException(name + " is still unavailable, next probe in "
+                        + backoffMillis / 1000 + "s");
+            }
+            state = State.HALF_OPEN;
+            LoggerManager.info(name + " circuit half-open, allowing a trial attempt");
+            return;
+        }
+        probing = false;
+        if (!up) {
+            recordFailure();
+            throw new InfrastructureException(name + " did not respond to the status probe");
+        }
+    }
+
+    /**
+     * Record a successful attempt - closes the breaker
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            LoggerManager.success(name + " circuit closed");
+        }
+        state = State.CLOSED;
+        trialOwner = null;
+        consecutiveFailures = 0;
+        backoffMillis = initialBackoffMillis;
+    }
+
+    /**
+     * Record a failed attempt - opens the breaker once the threshold is reached
+     * While open, only the trial attempt's failure changes the state; attempts that
+     * started before the breaker opened are just counted.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        lastProbeAt = 0; // force a fresh probe next time
+
+        boolean failedTrial = state == State.HALF_OPEN && trialOwner == Thread.currentThread();
+        if (failedTrial || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            if (failedTrial) {
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            }
+            state = State.OPEN;
+            trialOwner = null;
+            openedAt = System.currentTimeMillis();
+            LoggerManager.error(name + " circuit opened after " + consecutiveFailures
+                    + " consecutive failures, backing off " + backoffMillis / 1000 + "s");
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,164 @@
+package core;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-command latency counters for Appium round trips
+ * Tracks totals for the whole run plus a per-thread tally for the running test,
+ * so each test can report how much of its time was spent in transport.
+ */
+public class CommandMetrics {
+
+    private static final Map<String, CommandStats> stats = new ConcurrentHashMap<>();
+    private static final ThreadLocal<TestTally> currentTest = ThreadLocal.withInitial(TestTally::new);
+
+    // Page actions (click, type, ...) and the commands they issued
+    private static final Map<String, ActionStats> actions = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ActionTally> currentAction = new ThreadLocal<>();
+
+    private CommandMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Record one completed command
+     */
+    public static void record(String command, long nanos) {
+        stats.computeIfAbsent(command, name -> new CommandStats()).add(nanos);
+        TestTally tally = currentTest.get();
+        tally.commands++;
+        tally.nanos += nanos;
+        ActionTally action = currentAction.get();
+        if (action != null) {
+            action.commands++;
+        }
+    }
+
+    /**
+     * Start attributing commands on this thread to a page action, e.g. "click"
+     * Nested actions are counted in the outermost one.
+     */
+    public static void startAction(String action) {
+        ActionTally tally = currentAction.get();
+        if (tally == null) {
+            currentAction.set(new ActionTally(action));
+        } else {
+            tally.depth++;
+        }
+    }
+
+    /**
+     * Finish the current page action and record how many commands it took
+     */
+    public static void endAction() {
+        ActionTally tally = currentAction.get();
+        if (tally == null) {
+            return;
+        }
+        if (tally.depth > 0) {
+            tally.depth--;
+            return;
+        }
+        currentAction.remove();
+        actions.computeIfAbsent(tally.name, name -> new ActionStats()).add(tally.commands);
+    }
+
+    /**
+     * Round trips per page action
+     */
+    public static String getActionSummary() {
+        StringBuilder summary = new StringBuilder("COMMANDS PER ACTION\n");
+        actions.forEach((name, s) -> {
+            long count = s.count.sum();
+            summary.append(String.format("  %-12s actions: %5d, commands: %6d, avg: %4.1f, max: %3d%n",
+                    name, count, s.commands.sum(),
+                    count == 0 ? 0.0 : (double) s.commands.sum() / count, s.maxCommands.get()));
+        });
+        return summary.toString();
+    }
+
+    /**
+     * Reset the current thread's tally at test start
+     */
+    public static void startTest() {
+        currentTest.set(new TestTally());
+    }
+
+    /**
+     * Number of commands issued by the current thread since startTest()
+     */
+    public static long getTestCommandCount() {
+        return currentTest.get().commands;
+    }
+
+    /**
+     * Transport time of the current thread since startTest(), in milliseconds
+     */
+    public static long getTestTransportMillis() {
+        return currentTest.get().nanos / 1_000_000;
+    }
+
+    /**
+     * Summary of all commands ordered by total time spent
+     */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder("APPIUM COMMAND LATENCY\n");
+        stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, CommandStats> e) -> e.getValue().totalNanos.sum())
+                        .reversed())
+                .forEach(e -> {
+                    CommandStats s = e.getValue();
+                    long count = s.count.sum();
+                    summary.append(String.format("  %-30s count: %5d, total: %7d ms, avg: %6.1f ms, max: %5d ms%n",
+                            e.getKey(),
+                            count,
+                            s.totalNanos.sum() / 1_000_000,
+                            count == 0 ? 0.0 : s.totalNanos.sum() / 1_000_000.0 / count,
+                            s.maxNanos.get() / 1_000_000));
+                });
+        return summary.toString();
+    }
+
+    private static class CommandStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    private static class TestTally {
+        private long commands;
+        private long nanos;
+    }
+
+    private static class ActionStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder commands = new LongAdder();
+        private final AtomicLong maxCommands = new AtomicLong();
+
+        void add(long actionCommands) {
+            count.increment();
+            commands.add(actionCommands);
+            maxCommands.accumulateAndGet(actionCommands, Math::max);
+        }
+    }
+
+    private static class ActionTally {
+        private final String name;
+        private long commands;
+        private int depth;
+
+        ActionTally(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -84,6 +84,10 @@ public class ConfigReader {
         return Integer.parseInt(getProperty("implicit.wait", "10"));
     }
 
+    public boolean getImplicitWaitDisabled() {
+        return Boolean.parseBoolean(getProperty("implicit.wait.disabled", "false"));
+    }
+
     public int getExplicitWait() {
         return Integer.parseInt(getProperty("explicit.wait", "15"));
     }
@@ -99,4 +103,255 @@ public class ConfigReader {
     public boolean getFullReset() {
         return Boolean.parseBoolean(getProperty("full.reset", "false"));
     }
+
+    public String getAppId() {
+        return getProperty("app.id", "");
+    }
+
+    // Session pool settings
+    public boolean getDriverPoolEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.pool.enabled", "false"));
+    }
+
+    public int getDriverPoolSize() {
+        return Integer.parseInt(getProperty("driver.pool.size", "1"));
+    }
+
+    public int getDriverPoolMaxUses() {
+        return Integer.parseInt(getProperty("driver.pool.max.uses", "50"));
+    }
+
+    public int getDriverPoolMaxAgeSeconds() {
+        return Integer.parseInt(getProperty("driver.pool.max.age", "1800"));
+    }
+
+    public boolean getDriverPoolClearAppData() {
+        return Boolean.parseBoolean(getProperty("driver.pool.clear.app.data", "true"));
+    }
+
+    // Device pool settings
+    public boolean getDevicePoolEnabled() {
+        return Boolean.parseBoolean(getProperty("device.pool.enabled", "false"));
+    }
+
+    public String getDevicePoolDevices() {
+        return getProperty("device.pool.devices", "");
+    }
+
+    public int getDevicePoolLeaseTimeout() {
+        return Integer.parseInt(getProperty("device.pool.lease.timeout", "600"));
+    }
+
+    // Driver pre-warm settings
+    public boolean getDriverPrewarmEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.prewarm.enabled", "false"));
+    }
+
+    public int getDriverPrewarmMax() {
+        return Integer.parseInt(getProperty("driver.prewarm.max", "1"));
+    }
+
+    // Appium server health settings
+    public int getAppiumStatusTimeoutSeconds() {
+        return Integer.parseInt(getProperty("appium.status.timeout", "5"));
+    }
+
+    public int getAppiumStatusCacheSeconds() {
+        return Integer.parseInt(getProperty("appium.status.cache", "30"));
+    }
+
+    public int getAppiumCircuitFailureThreshold() {
+        return Integer.parseInt(getProperty("appium.circuit.failure.threshold", "3"));
+    }
+
+    public int getAppiumCircuitBackoffSeconds() {
+        return Integer.parseInt(getProperty("appium.circuit.backoff", "5"));
+    }
+
+    public int getAppiumCircuitMaxBackoffSeconds() {
+        return Integer.parseInt(getProperty("appium.circuit.backoff.max", "60"));
+    }
+
+    // Appium HTTP transport settings
+    public boolean getHttpClientShared() {
+        return Boolean.parseBoolean(getProperty("http.client.shared", "false"));
+    }
+
+    public String getHttpVersion() {
+        return getProperty("http.version", "HTTP_1_1");
+    }
+
+    public int getHttpConnectTimeoutSeconds() {
+        return Integer.parseInt(getProperty("http.connect.timeout", "10"));
+    }
+
+    public int getHttpReadTimeoutSeconds() {
+        return Integer.parseInt(getProperty("http.read.timeout", "120"));
+    }
+
+    public int getHttpKeepAliveSeconds() {
+        return Integer.parseInt(getProperty("http.keepalive.timeout", "300"));
+    }
+
+    public int getHttpPoolSize() {
+        return Integer.parseInt(getProperty("http.pool.size", "0"));
+    }
+
+    public boolean getHttpCompression() {
+        return Boolean.parseBoolean(getProperty("http.compression", "false"));
+    }
+
+    // Hierarchy snapshot settings
+    public boolean getSnapshotMode() {
+        return Boolean.parseBoolean(getProperty("snapshot.mode", "false"));
+    }
+
+    public long getSnapshotMaxAgeMillis() {
+        return Long.parseLong(getProperty("snapshot.max.age", "3000"));
+    }
+
+    // Locator compiler settings
+    public boolean getLocatorCompilerEnabled() {
+        return Boolean.parseBoolean(getProperty("locator.compiler.enabled", "true"));
+    }
+
+    public boolean getLocatorCompilerCalibrate() {
+        return Boolean.parseBoolean(getProperty("locator.compiler.calibrate", "false"));
+    }
+
+    // Adaptive wait polling (in milliseconds)
+    public long getWaitInitialPollMillis() {
+        return Long.parseLong(getProperty("wait.poll.initial", "50"));
+    }
+
+    public long getWaitMaxPollMillis() {
+        return Long.parseLong(getProperty("wait.poll.max", "1000"));
+    }
+
+    public boolean getSingleCallConditions() {
+        return Boolean.parseBoolean(getProperty("wait.single.call", "true"));
+    }
+
+    // Element cache settings (0 disables the cache)
+    public int getElementCacheSize() {
+        return Integer.parseInt(getProperty("element.cache.size", "32"));
+    }
+
+    // Login reuse settings
+    public boolean getLoginReuseEnabled() {
+        return Boolean.parseBoolean(getProperty("login.reuse", "false"));
+    }
+
+    public String getLoginDeepLink() {
+        return getProperty("login.deeplink", "");
+    }
+
+    // Reset level applied before tests that do not declare one (empty = reset on release)
+    public String getResetLevel() {
+        return getProperty("reset.level", "");
+    }
+
+    // Minimum log level: DEBUG, INFO, WARN or ERROR
+    public String getLogLevel() {
+        return getProperty("log.level", "DEBUG");
+    }
+
+    // Asynchronous logging settings
+    public boolean getLogAsync() {
+        return Boolean.parseBoolean(getProperty("log.async", "false"));
+    }
+
+    public int getLogAsyncBufferSize() {
+        return Integer.parseInt(getProperty("log.async.buffer.size", "8192"));
+    }
+
+    public String getLogAsyncOverflow() {
+        return getProperty("log.async.overflow", "BLOCK");
+    }
+
+    public long getLogAsyncFlushIntervalMillis() {
+        return Long.parseLong(getProperty("log.async.flush.interval", "200"));
+    }
+
+    public String getLogAsyncFlushLevel() {
+        return getProperty("log.async.flush.level", "WARN");
+    }
+
+    // Log rotation, archiving and retention
+    public long getLogRotateSizeMb() {
+        return Long.parseLong(getProperty("log.rotate.size.mb", "100"));
+    }
+
+    public boolean getLogArchiveEnabled() {
+        return Boolean.parseBoolean(getProperty("log.archive", "true"));
+    }
+
+    public long getLogRetentionMaxMb() {
+        return Long.parseLong(getProperty("log.retention.max.mb", "512"));
+    }
+
+    public int getLogRetentionMaxAgeDays() {
+        return Integer.parseInt(getProperty("log.retention.max.age.days", "14"));
+    }
+
+    // Device log lines attached on failure (0 disables)
+    public int getFailureDeviceLogLines() {
+        return Integer.parseInt(getProperty("failure.device.log.lines", "500"));
+    }
+
+    // Background screenshot pipeline
+    public boolean getScreenshotAsync() {
+        return Boolean.parseBoolean(getProperty("screenshot.async", "true"));
+    }
+
+    public int getScreenshotAsyncThreads() {
+        return Integer.parseInt(getProperty("screenshot.async.threads", "2"));
+    }
+
+    public int getScreenshotAsyncQueue() {
+        return Integer.parseInt(getProperty("screenshot.async.queue", "16"));
+    }
+
+    // Step screenshot image pipeline
+    public int getScreenshotWidth() {
+        return Integer.parseInt(getProperty("screenshot.width", "720"));
+    }
+
+    public String getScreenshotFormat() {
+        return getProperty("screenshot.format", "jpg");
+    }
+
+    public float getScreenshotJpegQuality() {
+        return Float.parseFloat(getProperty("screenshot.jpeg.quality", "0.8"));
+    }
+
+    public boolean getScreenshotDedupe() {
+        return Boolean.parseBoolean(getProperty("screenshot.dedupe", "true"));
+    }
+
+    public int getScreenshotDedupeDistance() {
+        return Integer.parseInt(getProperty("screenshot.dedupe.distance", "2"));
+    }
+
+    public int getScreenshotDedupeTolerance() {
+        return Integer.parseInt(getProperty("screenshot.dedupe.tolerance", "8"));
+    }
+
+    // Screenshot store
+    public long getScreenshotStoreMaxMb() {
+        return Long.parseLong(getProperty("screenshot.store.max.mb", "500"));
+    }
+
+    public long getScreenshotStoreMaxAgeHours() {
+        return Long.parseLong(getProperty("screenshot.store.max.age.hours", "72"));
+    }
+
+    // Rolling screen recording kept on failure
+    public boolean getRecordingEnabled() {
+        return Boolean.parseBoolean(getProperty("recording.enabled", "false"));
+    }
+
+    public int getRecordingWindowSeconds() {
+        return Integer.parseInt(getProperty("recording.window.seconds", "60"));
+    }
 }
@@ -0,0 +1,48 @@
+package core;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Device / emulator entry loaded from capabilities.json
+ */
+public class DeviceProfile {
+
+    private final String name;
+    private final int index;
+    private final Map<String, Object> capabilities;
+
+    public DeviceProfile(String name, int index, Map<String, Object> capabilities) {
+        this.name = name;
+        this.index = index;
+        this.capabilities = Collections.unmodifiableMap(capabilities);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Position of the device in the registry, used to assign distinct driver ports
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Map<String, Object> getCapabilities() {
+        return capabilities;
+    }
+
+    public Platform getPlatform() {
+        Object platformName = capabilities.get("platformName");
+        if (platformName != null && "ios".equalsIgnoreCase(platformName.toString())) {
+            return Platform.IOS;
+        }
+        return Platform.ANDROID;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,201 @@
+package core;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of devices / emulators defined in capabilities.json
+ * Leases a free device to each TestNG worker thread and tracks utilisation
+ * Design Pattern: Singleton + Object Pool
+ */
+public class DeviceRegistry {
+
+    private static DeviceRegistry instance;
+
+    private static final String CAPABILITIES_FILE = "src/test/resources/capabilities.json";
+
+    private final List<DeviceProfile> devices;
+    private final BlockingQueue<DeviceProfile> freeDevices;
+    private final int leaseTimeoutSeconds;
+    private final long startedAt = System.currentTimeMillis();
+
+    // Metrics
+    private final Map<String, DeviceStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong totalQueueWaitMillis = new AtomicLong();
+    private final AtomicLong maxQueueWaitMillis = new AtomicLong();
+    private final AtomicLong totalLeases = new AtomicLong();
+
+    private DeviceRegistry(ConfigReader config) {
+        this.devices = loadDevices(config);
+        this.freeDevices = new LinkedBlockingQueue<>(devices);
+        this.leaseTimeoutSeconds = config.getDevicePoolLeaseTimeout();
+        for (DeviceProfile device : devices) {
+            stats.put(device.getName(), new DeviceStats());
+        }
+        LoggerManager.info("Device pool loaded: " + devices);
+    }
+
+    public static DeviceRegistry getInstance() {
+        if (instance == null) {
+            synchronized (DeviceRegistry.class) {
+                if (instance == null) {
+                    instance = new DeviceRegistry(ConfigReader.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Load devices matching the configured platform (and optional name filter)
+     */
+    private List<DeviceProfile> loadDevices(ConfigReader config) {
+        Map<String, Map<String, Object>> entries = new TreeMap<>();
+        try (Reader reader = new FileReader(CAPABILITIES_FILE)) {
+            Map<String, Map<String, Object>> parsed = new Json().toType(reader, Json.MAP_TYPE);
+            entries.putAll(parsed);
+        } catch (IOException e) {
+            LoggerManager.error("Failed to load device capabilities: " + e.getMessage());
+            throw new RuntimeException("Failed to load " + CAPABILITIES_FILE, e);
+        }
+
+        Set<String> selected = Arrays.stream(config.getDevicePoolDevices().split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        Platform platform = "ios".equalsIgnoreCase(config.getPlatformName()) ? Platform.IOS : Platform.ANDROID;
+
+        List<DeviceProfile> result = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> entry : entries.entrySet()) {
+            DeviceProfile device = new DeviceProfile(entry.getKey(), result.size(), entry.getValue());
+            boolean nameMatches = selected.isEmpty() || selected.contains(device.getName());
+            if (nameMatches && device.getPlatform() == platform) {
+                result.add(device);
+            }
+        }
+
+        if (result.isEmpty()) {
+            throw new RuntimeException("No " + platform + " devices found in " + CAPABILITIES_FILE);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Lease a free device, blocking until one is available
+     */
+    public DeviceProfile lease() {
+        long start = System.currentTimeMillis();
+        DeviceProfile device;
+        try {
+            device = freeDevices.poll(leaseTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a free device", e);
+        }
+        if (device == null) {
+            throw new RuntimeException("No free device within " + leaseTimeoutSeconds + "s");
+        }
+
+        long waited = System.currentTimeMillis() - start;
+        totalLeases.incrementAndGet();
+        totalQueueWaitMillis.addAndGet(waited);
+        maxQueueWaitMillis.accumulateAndGet(waited, Math::max);
+        stats.get(device.getName()).leased(waited);
+
+        LoggerManager.info("Leased device " + device + " to " + Thread.currentThread().getName()
+                + " (waited " + waited + " ms)");
+        return device;
+    }
+
+    /**
+     * Lease a free device without blocking, or null when all devices are busy
+     */
+    public DeviceProfile tryLease() {
+        DeviceProfile device = freeDevices.poll();
+        if (device != null) {
+            totalLeases.incrementAndGet();
+            stats.get(device.getName()).leased(0);
+        }
+        return device;
+    }
+
+    /**
+     * Return a device to the pool
+     */
+    public void release(DeviceProfile device) {
+        if (device == null) {
+            return;
+        }
+        stats.get(device.getName()).released();
+        freeDevices.offer(device);
+        LoggerManager.debug("Released device {}", device);
+    }
+
+    public int size() {
+        return devices.size();
+    }
+
+    public List<DeviceProfile> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Per-device utilisation and queue-wait summary
+     */
+    public String getUtilisationReport() {
+        long wallMillis = Math.max(1, System.currentTimeMillis() - startedAt);
+        long leases = totalLeases.get();
+        long avgWait = leases == 0 ? 0 : totalQueueWaitMillis.get() / leases;
+
+        StringBuilder report = new StringBuilder();
+        report.append("DEVICE POOL UTILISATION\n");
+        report.append(String.format("Devices: %d, leases: %d, avg queue wait: %d ms, max queue wait: %d ms%n",
+                devices.size(), leases, avgWait, maxQueueWaitMillis.get()));
+        for (DeviceProfile device : devices) {
+            DeviceStats deviceStats = stats.get(device.getName());
+            report.append(String.format("  %-20s leases: %3d, busy: %7d ms, utilisation: %5.1f%%, queue wait: %d ms%n",
+                    device.getName(),
+                    deviceStats.leases.get(),
+                    deviceStats.busyMillis.get(),
+                    100.0 * deviceStats.busyMillis.get() / wallMillis,
+                    deviceStats.queueWaitMillis.get()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Usage counters for a single device
+     */
+    private static class DeviceStats {
+        private final AtomicLong leases = new AtomicLong();
+        private final AtomicLong busyMillis = new AtomicLong();
+        private final AtomicLong queueWaitMillis = new AtomicLong();
+        private volatile long leasedAt;
+
+        void leased(long waitedMillis) {
+            leases.incrementAndGet();
+            queueWaitMillis.addAndGet(waitedMillis);
+            leasedAt = System.currentTimeMillis();
+        }
+
+        void released() {
+            busyMillis.addAndGet(System.currentTimeMillis() - leasedAt);
+        }
+    }
+}
@@ -5,11 +5,19 @@ import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
 import io.appium.java_client.ios.IOSDriver;
 import io.appium.java_client.ios.options.XCUITestOptions;
+import io.appium.java_client.remote.options.BaseOptions;
+
+import org.openqa.selenium.remote.http.HttpClient;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 /**
  * Factory class to create and manage AppiumDriver instance
@@ -18,24 +26,118 @@ import java.time.Duration;
  */
 public class DriverFactory {
 
+    private static final int ANDROID_SYSTEM_PORT_BASE = 8200;
+    private static final int IOS_WDA_PORT_BASE = 8100;
+
     private static ThreadLocal<AppiumDriver> driver = new ThreadLocal<>();
+    private static ThreadLocal<DriverPool.PooledSession> pooledSession = new ThreadLocal<>();
+    private static ThreadLocal<DeviceProfile> leasedDevice = new ThreadLocal<>();
     private static ConfigReader config = ConfigReader.getInstance();
+    private static DeviceRegistry devices = config.getDevicePoolEnabled() ? DeviceRegistry.getInstance() : null;
+    private static DriverPool pool = config.getDriverPoolEnabled()
+            ? new DriverPool(config, devices != null ? devices.size() : 1) : null;
+    private static DriverPrewarmer prewarmer = createPrewarmer();
+    // Tests still to start a session, or -1 when unknown
+    private static final AtomicInteger remainingTests = new AtomicInteger(-1);
+    private static HttpClient.Factory httpClientFactory = config.getHttpClientShared()
+            ? AppiumHttpClient.Factory.fromConfig(config) : HttpClient.Factory.createDefault();
+    private static CircuitBreaker appiumBreaker = new CircuitBreaker("Appium server",
+            config.getAppiumCircuitFailureThreshold(),
+            config.getAppiumCircuitBackoffSeconds() * 1000L,
+            config.getAppiumCircuitMaxBackoffSeconds() * 1000L,
+            config.getAppiumStatusCacheSeconds() * 1000L,
+            DriverFactory::isAppiumServerUp);
 
     private DriverFactory() {
         // Private constructor to prevent instantiation
     }
 
+    private static DriverPrewarmer createPrewarmer() {
+        if (!config.getDriverPrewarmEnabled()) {
+            return null;
+        }
+        if (pool != null) {
+            LoggerManager.warn("Driver pre-warm is ignored while the session pool is enabled");
+            return null;
+        }
+        if (devices == null) {
+            // With one device the next session can only start once the test has quit its own
+            LoggerManager.warn("Driver pre-warm needs the device pool (a spare device) and is ignored");
+            return null;
+        }
+        return new DriverPrewarmer(config.getDriverPrewarmMax());
+    }
+
     /**
      * Get driver instance - creates if not exists
      */
     public static AppiumDriver getDriver() {
         if (driver.get() == null) {
             Platform platform = getPlatformFromConfig();
-            driver.set(createDriver(platform));
+            if (pool != null) {
+                DeviceProfile device = devices != null ? devices.lease() : null;
+                leasedDevice.set(device);
+                String deviceKey = device != null ? device.getName() : "default";
+                DriverPool.PooledSession session = pool.lease(deviceKey, () -> createDriver(platform, device));
+                pooledSession.set(session);
+                driver.set(session.getDriver());
+            } else {
+                driver.set(takePrewarmedOrCreate(platform));
+                remainingTests.updateAndGet(remaining -> remaining > 0 ? remaining - 1 : remaining);
+                // Build the next session on a spare device while this test runs
+                prewarmNext(platform);
+            }
         }
         return driver.get();
     }
 
+    /**
+     * Use a pre-warmed session when one is available, otherwise create a new one
+     */
+    private static AppiumDriver takePrewarmedOrCreate(Platform platform) {
+        if (prewarmer != null) {
+            DriverPrewarmer.WarmSession warm = prewarmer.take();
+            if (warm != null && warm.getDriver() != null) {
+                leasedDevice.set(warm.getDevice());
+                return warm.getDriver();
+            }
+            if (warm != null && devices != null) {
+                devices.release(warm.getDevice());
+            }
+        }
+        DeviceProfile device = devices != null ? devices.lease() : null;
+        leasedDevice.set(device);
+        return createDriver(platform, device);
+    }
+
+    /**
+     * Start building the next session in the background on a free device
+     * Skipped when the sessions already being built cover the tests that remain.
+     */
+    private static void prewarmNext(Platform platform) {
+        if (prewarmer == null) {
+            return;
+        }
+        int remaining = remainingTests.get();
+        if (remaining >= 0 && remaining <= prewarmer.getPending()) {
+            return;
+        }
+        DeviceProfile device = devices.tryLease();
+        if (device == null) {
+            return;
+        }
+        if (!prewarmer.prewarm(device, d -> createDriver(platform, d))) {
+            devices.release(device);
+        }
+    }
+
+    /**
+     * Number of tests in the suite, so no session is pre-warmed after the last one starts
+     */
+    public static void setRemainingTests(int tests) {
+        remainingTests.set(tests);
+    }
+
     /**
      * Get platform from configuration
      */
@@ -53,22 +155,71 @@ public class DriverFactory {
      * Create driver based on platform
      * Strategy Pattern: Different strategy for each platform
      */
-    private static AppiumDriver createDriver(Platform platform) {
-        LoggerManager.info("Creating " + platform + " driver...");
+    private static AppiumDriver createDriver(Platform platform, DeviceProfile device) {
+        LoggerManager.info("Creating " + platform + " driver" + (device != null ? " on " + device : "") + "...");
+
+        // Fail fast while the Appium server is known to be down
+        appiumBreaker.beforeAttempt();
 
-        switch (platform) {
-            case IOS:
-                return createIOSDriver();
-            case ANDROID:
-            default:
-                return createAndroidDriver();
+        try {
+            AppiumDriver created = platform == Platform.IOS
+                    ? createIOSDriver(device)
+                    : createAndroidDriver(device);
+            appiumBreaker.recordSuccess();
+            return created;
+        } catch (RuntimeException e) {
+            // Any failure must be recorded, or a HALF_OPEN trial would never finish
+            appiumBreaker.recordFailure();
+            throw e;
+        }
+    }
+
+    /**
+     * Command executor with the configured transport and per-command latency counters
+     */
+    private static TimedCommandExecutor createCommandExecutor() throws MalformedURLException {
+        return new TimedCommandExecutor(new URL(config.getAppiumUrl()), httpClientFactory);
+    }
+
+    /**
+     * Probe the Appium server /status endpoint
+     */
+    private static boolean isAppiumServerUp() {
+        String statusUrl = config.getAppiumUrl().replaceAll("/+$", "") + "/status";
+        int timeoutMillis = config.getAppiumStatusTimeoutSeconds() * 1000;
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(statusUrl).openConnection();
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
+            return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+            LoggerManager.warn("Appium status probe failed (" + statusUrl + "): " + e.getMessage());
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Apply device capabilities from capabilities.json on top of config.properties
+     */
+    private static void applyDeviceCapabilities(BaseOptions<?> options, DeviceProfile device) {
+        for (Map.Entry<String, Object> capability : device.getCapabilities().entrySet()) {
+            String name = capability.getKey();
+            if ("platformName".equals(name)) {
+                continue;
+            }
+            options.setCapability(name.contains(":") ? name : "appium:" + name, capability.getValue());
         }
     }
 
     /**
      * Create Android driver with UiAutomator2
      */
-    private static AndroidDriver createAndroidDriver() {
+    private static AndroidDriver createAndroidDriver(DeviceProfile device) {
         LoggerManager.info("Initializing Android Driver with UiAutomator2...");
 
         UiAutomator2Options options = new UiAutomator2Options();
@@ -104,14 +255,18 @@ public class DriverFactory {
         options.setCapability("appium:fullReset", config.getFullReset());
         options.setCapability("appium:newCommandTimeout", 300);
 
+        if (device != null) {
+            // Each parallel UiAutomator2 session needs its own system port
+            options.setCapability("appium:systemPort", ANDROID_SYSTEM_PORT_BASE + device.getIndex());
+            applyDeviceCapabilities(options, device);
+        }
+
         try {
-            AndroidDriver androidDriver = new AndroidDriver(
-                    new URL(config.getAppiumUrl()),
-                    options);
+            AndroidDriver androidDriver = new AndroidDriver(createCommandExecutor(), options);
 
-            // Set implicit wait
+            // Set implicit wait (zero when all waiting goes through WaitHelper)
             androidDriver.manage().timeouts()
-                    .implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
+                    .implicitlyWait(Duration.ofSeconds(getImplicitWaitSeconds()));
 
             LoggerManager.success("Android Driver created successfully");
             return androidDriver;
@@ -125,7 +280,7 @@ public class DriverFactory {
     /**
      * Create iOS driver with XCUITest
      */
-    private static IOSDriver createIOSDriver() {
+    private static IOSDriver createIOSDriver(DeviceProfile device) {
         LoggerManager.info("Initializing iOS Driver with XCUITest...");
 
         XCUITestOptions options = new XCUITestOptions();
@@ -163,13 +318,18 @@ public class DriverFactory {
         options.setCapability("appium:fullReset", config.getFullReset());
         options.setCapability("appium:newCommandTimeout", 300);
 
+        if (device != null) {
+            // Each parallel XCUITest session needs its own WebDriverAgent port
+            options.setCapability("appium:wdaLocalPort", IOS_WDA_PORT_BASE + device.getIndex());
+            applyDeviceCapabilities(options, device);
+        }
+
         try {
-            IOSDriver iosDriver = new IOSDriver(
-                    new URL(config.getAppiumUrl()), options);
+            IOSDriver iosDriver = new IOSDriver(createCommandExecutor(), options);
 
-            // Set implicit wait
+            // Set implicit wait (zero when all waiting goes through WaitHelper)
             iosDriver.manage().timeouts()
-                    .implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
+                    .implicitlyWait(Duration.ofSeconds(getImplicitWaitSeconds()));
 
             LoggerManager.success("iOS Driver created successfully");
             return iosDriver;
@@ -182,14 +342,105 @@ public class DriverFactory {
 
     /**
      * Quit driver and remove from ThreadLocal
+     * In pooled mode the session is reset and returned to the pool instead
      */
     public static void quitDriver() {
-        if (driver.get() != null) {
+        if (pool != null && pooledSession.get() != null) {
+            pool.release(pooledSession.get());
+            pooledSession.remove();
+            driver.remove();
+        } else if (driver.get() != null) {
             LoggerManager.info("Quitting driver...");
             driver.get().quit();
             driver.remove();
             LoggerManager.success("Driver quit successfully");
         }
+        releaseDevice();
+    }
+
+    private static void releaseDevice() {
+        if (devices != null && leasedDevice.get() != null) {
+            devices.release(leasedDevice.get());
+        }
+        leasedDevice.remove();
+    }
+
+    /**
+     * Bring the current session to at least the required reset level, as cheaply as possible
+     * Only pooled sessions carry state between tests; a fresh session satisfies every level.
+     * @param navigateHome Returns the app to its home screen, false when that is not possible
+     */
+    public static void applyReset(ResetLevel required, BooleanSupplier navigateHome) {
+        DriverPool.PooledSession session = pooledSession.get();
+        if (pool == null || session == null || required == ResetLevel.NONE) {
+            return;
+        }
+        ResetLevel applied = pool.reset(session, required, navigateHome);
+        if (applied == ResetLevel.NEW_SESSION) {
+            long start = System.currentTimeMillis();
+            pool.discard(session, "new session required");
+            DeviceProfile device = leasedDevice.get();
+            DriverPool.PooledSession fresh = pool.create(session.getDeviceKey(),
+                    () -> createDriver(getPlatformFromConfig(), device));
+            pooledSession.set(fresh);
+            driver.set(fresh.getDriver());
+            pool.recordReset(ResetLevel.NEW_SESSION, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Default reset level for tests that do not declare one, or null for reset on release
+     */
+    public static ResetLevel getDefaultResetLevel() {
+        return ResetLevel.parse(config.getResetLevel());
+    }
+
+    /**
+     * Get device leased by the current thread, or null when the device pool is disabled
+     */
+    public static DeviceProfile getCurrentDevice() {
+        return leasedDevice.get();
+    }
+
+    /**
+     * Get device pool registry, or null when the device pool is disabled
+     */
+    public static DeviceRegistry getDeviceRegistry() {
+        return devices;
+    }
+
+    /**
+     * Quit pooled and pre-warmed sessions - call once when the suite finishes
+     * Sessions still being built are waited for and quit, so none is left open on the server.
+     */
+    public static void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        if (prewarmer != null) {
+            for (DriverPrewarmer.WarmSession unused : prewarmer.shutdown()) {
+                if (devices != null) {
+                    devices.release(unused.getDevice());
+                }
+            }
+        }
+        LoggerManager.info(CommandMetrics.getSummary());
+        LoggerManager.info(CommandMetrics.getActionSummary());
+    }
+
+    /**
+     * Check if session pooling is enabled
+     */
+    public static boolean isPoolingEnabled() {
+        return pool != null;
+    }
+
+    /**
+     * Get the current thread's driver without creating one
+     * @return driver, or null when no session is bound to this thread
+     */
+    public static AppiumDriver peekDriver() {
+        return driver.get();
     }
 
     /**
@@ -199,6 +450,13 @@ public class DriverFactory {
         return driver.get() != null;
     }
 
+    /**
+     * Implicit wait applied to every driver - 0 in zero-implicit-wait mode
+     */
+    public static int getImplicitWaitSeconds() {
+        return config.getImplicitWaitDisabled() ? 0 : config.getImplicitWait();
+    }
+
     /**
      * Get current platform
      */
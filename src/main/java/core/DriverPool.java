@@ -0,0 +1,380 @@
+package core;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import io.appium.java_client.remote.SupportsContextSwitching;
+
+import java.io.File;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Pool of reusable Appium sessions
+ * Sessions are leased per test, health-checked, reset cheaply and returned
+ * instead of quit. Retired once they exceed the configured max age / max uses.
+ * Resets are applied eagerly on release, or lazily at lease time when tests
+ * declare the ResetLevel they need.
+ * Design Pattern: Object Pool
+ */
+public class DriverPool {
+
+    private final Deque<PooledSession> idleSessions = new ConcurrentLinkedDeque<>();
+
+    private final int maxIdle;
+    private final int maxUses;
+    private final long maxAgeMillis;
+    private final boolean clearAppData;
+    private final boolean resetOnRelease;
+    private final ResetLevel releaseLevel;
+    private final String configuredAppId;
+    private final String appPath;
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong retired = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong totalCreationMillis = new AtomicLong();
+    private final Map<ResetLevel, AtomicLong> resetCounts = new EnumMap<>(ResetLevel.class);
+    private final Map<ResetLevel, AtomicLong> resetMillis = new EnumMap<>(ResetLevel.class);
+
+    public DriverPool(ConfigReader config, int minIdle) {
+        this.maxIdle = Math.max(minIdle, config.getDriverPoolSize());
+        this.maxUses = config.getDriverPoolMaxUses();
+        this.maxAgeMillis = config.getDriverPoolMaxAgeSeconds() * 1000L;
+        this.clearAppData = config.getDriverPoolClearAppData();
+        // Login reuse and declared reset levels keep the app running between tests
+        this.resetOnRelease = !config.getLoginReuseEnabled() && ResetLevel.parse(config.getResetLevel()) == null;
+        this.releaseLevel = !resetOnRelease ? ResetLevel.NONE
+                : clearAppData ? ResetLevel.CLEAR_DATA : ResetLevel.RESTART_APP;
+        this.configuredAppId = config.getAppId();
+        this.appPath = config.getAppPath();
+        for (ResetLevel level : ResetLevel.values()) {
+            resetCounts.put(level, new AtomicLong());
+            resetMillis.put(level, new AtomicLong());
+        }
+    }
+
+    /**
+     * Lease a healthy session for the given device, creating a new one on a miss
+     */
+    public PooledSession lease(String deviceKey, Supplier<AppiumDriver> creator) {
+        PooledSession session;
+        while ((session = pollIdle(deviceKey)) != null) {
+            if (isExpired(session)) {
+                retire(session, "policy limit reached");
+            } else if (!isHealthy(session)) {
+                retire(session, "health check failed");
+            } else {
+                hits.incrementAndGet();
+                session.uses++;
+                LoggerManager.info("Reusing pooled session " + session.driver.getSessionId()
+                        + " (use " + session.uses + ")");
+                return session;
+            }
+        }
+
+        misses.incrementAndGet();
+        return create(deviceKey, creator);
+    }
+
+    /**
+     * Create a new session, bypassing idle ones
+     */
+    public PooledSession create(String deviceKey, Supplier<AppiumDriver> creator) {
+        long start = System.currentTimeMillis();
+        AppiumDriver newDriver = creator.get();
+        long elapsed = System.currentTimeMillis() - start;
+
+        created.incrementAndGet();
+        totalCreationMillis.addAndGet(elapsed);
+        LoggerManager.info("Created pooled session in " + elapsed + " ms");
+
+        PooledSession session = new PooledSession(newDriver, deviceKey, elapsed);
+        session.uses++;
+        return session;
+    }
+
+    /**
+     * Return a session to the pool after resetting the app under test
+     * (the app is left running when login reuse is enabled)
+     */
+    public void release(PooledSession session) {
+        if (session == null) {
+            return;
+        }
+        if (isExpired(session)) {
+            retire(session, "policy limit reached");
+            return;
+        }
+        if (idleSessions.size() >= maxIdle) {
+            retire(session, "pool is full");
+            return;
+        }
+
+        try {
+            session.cleanLevel = ResetLevel.NONE;
+            if (resetOnRelease) {
+                // Only a reset that actually ran makes the idle session clean
+                if (!resetApp(session.driver)) {
+                    retire(session, "app could not be reset");
+                    return;
+                }
+                session.cleanLevel = releaseLevel;
+            }
+        } catch (Exception e) {
+            LoggerManager.warn("App reset failed: " + e.getMessage());
+            retire(session, "reset failed");
+            return;
+        }
+
+        idleSessions.offerFirst(session);
+        LoggerManager.debug("Session returned to pool: {}", session.driver.getSessionId());
+    }
+
+    /**
+     * Quit all idle sessions and log pool metrics
+     */
+    public void shutdown() {
+        PooledSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            retire(session, "suite finished");
+        }
+        logMetrics();
+    }
+
+    /**
+     * Bring a leased session to at least the required reset level, as cheaply as possible
+     * Nothing is done when the session is already clean enough (e.g. fresh, or reset on release).
+     * NAVIGATE_HOME uses the given navigator and escalates to RESTART_APP when it fails.
+     * @return level that was applied; NEW_SESSION means the caller must replace the session
+     */
+    public ResetLevel reset(PooledSession session, ResetLevel required, BooleanSupplier navigateHome) {
+        if (session.cleanLevel.satisfies(required)) {
+            return ResetLevel.NONE;
+        }
+
+        long start = System.currentTimeMillis();
+        ResetLevel applied = required;
+        switch (required) {
+            case NAVIGATE_HOME:
+                if (navigateHome.getAsBoolean()) {
+                    break;
+                }
+                LoggerManager.info("Navigate home failed, restarting app");
+                applied = ResetLevel.RESTART_APP;
+                restartApp(session.driver, false);
+                break;
+            case RESTART_APP:
+                restartApp(session.driver, false);
+                break;
+            case CLEAR_DATA:
+                restartApp(session.driver, true);
+                break;
+            case REINSTALL:
+                if (!reinstallApp(session.driver)) {
+                    applied = ResetLevel.NEW_SESSION;
+                }
+                break;
+            default:
+                applied = required;
+        }
+        if (applied != ResetLevel.NEW_SESSION) {
+            recordReset(applied, System.currentTimeMillis() - start);
+            session.cleanLevel = applied;
+        }
+        return applied;
+    }
+
+    /**
+     * Quit a session that is replaced by a new one
+     */
+    public void discard(PooledSession session, String reason) {
+        retire(session, reason);
+    }
+
+    public void recordReset(ResetLevel level, long millis) {
+        resetCounts.get(level).incrementAndGet();
+        resetMillis.get(level).addAndGet(millis);
+        LoggerManager.info("Applied reset " + level + " in " + millis + " ms");
+    }
+
+    private void restartApp(AppiumDriver driver, boolean clearData) {
+        String appId = resolveAppId(driver);
+        if (appId == null || !(driver instanceof InteractsWithApps)) {
+            throw new RuntimeException("Cannot resolve app id for app reset");
+        }
+        InteractsWithApps apps = (InteractsWithApps) driver;
+        apps.terminateApp(appId);
+        if (clearData) {
+            // XCUITest names the argument bundleId, UiAutomator2 appId
+            String appKey = DriverFactory.getCurrentPlatform() == Platform.IOS ? "bundleId" : "appId";
+            driver.executeScript("mobile: clearApp", Map.of(appKey, appId));
+        }
+        apps.activateApp(appId);
+    }
+
+    private boolean reinstallApp(AppiumDriver driver) {
+        String appId = resolveAppId(driver);
+        File app = new File(appPath);
+        if (appId == null || !app.exists() || !(driver instanceof InteractsWithApps)) {
+            LoggerManager.warn("Cannot reinstall app (app id or file missing), starting a new session instead");
+            return false;
+        }
+        InteractsWithApps apps = (InteractsWithApps) driver;
+        apps.removeApp(appId);
+        apps.installApp(app.getAbsolutePath());
+        apps.activateApp(appId);
+        return true;
+    }
+
+    private PooledSession pollIdle(String deviceKey) {
+        Iterator<PooledSession> iterator = idleSessions.iterator();
+        while (iterator.hasNext()) {
+            PooledSession session = iterator.next();
+            if (session.deviceKey.equals(deviceKey) && idleSessions.removeFirstOccurrence(session)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reset the app cheaply: terminate, optionally clear data, activate
+     * @return false when the app id cannot be resolved and nothing was reset
+     */
+    public boolean resetApp(AppiumDriver driver) {
+        if (resolveAppId(driver) == null || !(driver instanceof InteractsWithApps)) {
+            LoggerManager.warn("Cannot resolve app id, app not reset");
+            return false;
+        }
+        restartApp(driver, clearAppData);
+        LoggerManager.debug("App reset completed");
+        return true;
+    }
+
+    private String resolveAppId(AppiumDriver driver) {
+        if (!configuredAppId.isEmpty()) {
+            return configuredAppId;
+        }
+        for (String key : new String[]{"appPackage", "appium:appPackage", "bundleId", "appium:bundleId"}) {
+            Object value = driver.getCapabilities().getCapability(key);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+
+    private boolean isExpired(PooledSession session) {
+        boolean tooOld = maxAgeMillis > 0 && session.getAgeMillis() > maxAgeMillis;
+        boolean overused = maxUses > 0 && session.uses >= maxUses;
+        return tooOld || overused;
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            if (session.driver.getSessionId() == null) {
+                return false;
+            }
+            if (session.driver instanceof SupportsContextSwitching) {
+                ((SupportsContextSwitching) session.driver).getContext();
+            } else {
+                session.driver.getStatus();
+            }
+            return true;
+        } catch (Exception e) {
+            LoggerManager.debug("Pooled session health check failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void retire(PooledSession session, String reason) {
+        retired.incrementAndGet();
+        LoggerManager.info("Retiring pooled session (" + reason + ")");
+        try {
+            session.driver.quit();
+        } catch (Exception e) {
+            LoggerManager.debug("Quit of retired session failed: " + e.getMessage());
+        }
+    }
+
+    private void logMetrics() {
+        long createdCount = created.get();
+        long avgCreation = createdCount == 0 ? 0 : totalCreationMillis.get() / createdCount;
+        LoggerManager.info("Driver pool - hits: " + hits.get()
+                + ", misses: " + misses.get()
+                + ", retired: " + retired.get()
+                + ", sessions created: " + createdCount
+                + ", avg creation: " + avgCreation + " ms"
+                + ", total creation: " + totalCreationMillis.get() + " ms");
+
+        StringBuilder resets = new StringBuilder("Resets applied -");
+        for (ResetLevel level : ResetLevel.values()) {
+            long count = resetCounts.get(level).get();
+            if (count > 0) {
+                resets.append(' ').append(level).append(": ").append(count)
+                        .append(" (").append(resetMillis.get(level).get()).append(" ms)");
+            }
+        }
+        LoggerManager.info(resets.toString());
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getTotalCreationMillis() {
+        return totalCreationMillis.get();
+    }
+
+    /**
+     * Appium session tracked by the pool
+     */
+    public static class PooledSession {
+        private final AppiumDriver driver;
+        private final String deviceKey;
+        private final long createdAt;
+        private final long creationMillis;
+        private int uses;
+        // Strongest reset the app has had since the last test - a fresh session is fully clean
+        private ResetLevel cleanLevel = ResetLevel.NEW_SESSION;
+
+        PooledSession(AppiumDriver driver, String deviceKey, long creationMillis) {
+            this.driver = driver;
+            this.deviceKey = deviceKey;
+            this.createdAt = System.currentTimeMillis();
+            this.creationMillis = creationMillis;
+        }
+
+        public AppiumDriver getDriver() {
+            return driver;
+        }
+
+        public String getDeviceKey() {
+            return deviceKey;
+        }
+
+        public long getAgeMillis() {
+            return System.currentTimeMillis() - createdAt;
+        }
+
+        public long getCreationMillis() {
+            return creationMillis;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package core;
+
+import io.appium.java_client.AppiumDriver;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Builds the next Appium session on a background thread while the current test runs
+ * The next setUp then takes a ready (or partially built) session instead of waiting
+ * for a full session start.
+ * Speculative sessions are capped; at suite end builds in flight are waited for and every
+ * unused session is quit. Interrupting a build would not stop the server-side session start.
+ */
+public class DriverPrewarmer {
+
+    // Longest wait for a session that is still being built at suite end
+    private static final long SHUTDOWN_WAIT_MILLIS = 120000;
+
+    private final ExecutorService executor;
+    private final Queue<WarmSession> warmSessions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger speculative = new AtomicInteger();
+    private final int maxSpeculative;
+    private volatile boolean shutdown;
+
+    // Metrics
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong hiddenMillis = new AtomicLong();
+
+    public DriverPrewarmer(int maxSpeculative) {
+        this.maxSpeculative = Math.max(1, maxSpeculative);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.maxSpeculative, runnable -> {
+            Thread thread = new Thread(runnable, "driver-prewarm-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start building a speculative session unless the cap is reached
+     * @param device Device the session is built on (null when the device pool is disabled)
+     * @return false when no slot was available and the caller keeps ownership of the device
+     */
+    public boolean prewarm(DeviceProfile device, Function<DeviceProfile, AppiumDriver> creator) {
+        if (shutdown || speculative.incrementAndGet() > maxSpeculative) {
+            speculative.decrementAndGet();
+            return false;
+        }
+
+        WarmSession session = new WarmSession(device);
+        session.future = executor.submit(() -> {
+            long start = System.currentTimeMillis();
+            AppiumDriver driver = creator.apply(device);
+            session.creationMillis = System.currentTimeMillis() - start;
+            if (shutdown) {
+                driver.quit();
+                throw new IllegalStateException("Suite finished before pre-warmed session was used");
+            }
+            return driver;
+        });
+        warmSessions.offer(session);
+        LoggerManager.info("Pre-warming next session" + (device != null ? " on " + device : "") + "...");
+        return true;
+    }
+
+    /**
+     * Speculative sessions built or being built that no test has taken yet
+     */
+    public int getPending() {
+        return speculative.get();
+    }
+
+    /**
+     * Take the oldest speculative session, waiting for it if it is still being built
+     * @return null when no session is available or building it failed
+     */
+    public WarmSession take() {
+        WarmSession session = warmSessions.poll();
+        if (session == null) {
+            return null;
+        }
+        speculative.decrementAndGet();
+
+        long start = System.currentTimeMillis();
+        try {
+            session.driver = session.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            session.future.cancel(true);
+            failed.incrementAndGet();
+            return session;
+        } catch (ExecutionException e) {
+            failed.incrementAndGet();
+            LoggerManager.warn("Pre-warmed session failed: " + e.getCause().getMessage());
+            return session;
+        }
+
+        long blocked = System.currentTimeMillis() - start;
+        long hidden = Math.max(0, session.creationMillis - blocked);
+        consumed.incrementAndGet();
+        hiddenMillis.addAndGet(hidden);
+        LoggerManager.info("Using pre-warmed session (hid " + hidden + " ms of setup latency)");
+        return session;
+    }
+
+    /**
+     * Wait for in-flight builds, quit unused sessions and log metrics
+     * @return sessions that were not consumed, so their devices can be released
+     */
+    public Queue<WarmSession> shutdown() {
+        shutdown = true;
+        Queue<WarmSession> unused = new ConcurrentLinkedQueue<>();
+        long deadline = System.currentTimeMillis() + SHUTDOWN_WAIT_MILLIS;
+        WarmSession session;
+        while ((session = warmSessions.poll()) != null) {
+            discarded.incrementAndGet();
+            if (!session.future.isDone()) {
+                LoggerManager.info("Waiting for pre-warmed session" + (session.device != null ? " on " + session.device : "")
+                        + " to finish building, to quit it");
+            }
+            try {
+                // A build that completes after the shutdown flag quits its own driver and fails here
+                session.future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS).quit();
+            } catch (TimeoutException e) {
+                LoggerManager.warn("Pre-warmed session still building after " + SHUTDOWN_WAIT_MILLIS
+                        + " ms - it quits itself when done");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                LoggerManager.debug("Discarding pre-warmed session: {}", e.getMessage());
+            }
+            unused.offer(session);
+        }
+        executor.shutdown();
+
+        LoggerManager.info("Driver pre-warm - used: " + consumed.get()
+                + ", discarded: " + discarded.get()
+                + ", failed: " + failed.get()
+                + ", setup latency hidden: " + hiddenMillis.get() + " ms");
+        return unused;
+    }
+
+    public long getHiddenMillis() {
+        return hiddenMillis.get();
+    }
+
+    /**
+     * Speculative session and the device it was built on
+     */
+    public static class WarmSession {
+        private final DeviceProfile device;
+        private volatile Future<AppiumDriver> future;
+        private volatile long creationMillis;
+        private AppiumDriver driver;
+
+        WarmSession(DeviceProfile device) {
+            this.device = device;
+        }
+
+        public DeviceProfile getDevice() {
+            return device;
+        }
+
+        /**
+         * Ready driver, or null when building the session failed
+         */
+        public AppiumDriver getDriver() {
+            return driver;
+        }
+    }
+}
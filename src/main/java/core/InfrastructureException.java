@@ -0,0 +1,18 @@
+package core;
+
+/**
+ * Thrown when the test infrastructure (Appium server, devices) is unavailable
+ * Lets reports separate infrastructure problems from product defects
+ */
+public class InfrastructureException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InfrastructureException(String message) {
+        super("[INFRASTRUCTURE] " + message);
+    }
+
+    public InfrastructureException(String message, Throwable cause) {
+        super("[INFRASTRUCTURE] " + message, cause);
+    }
+}
@@ -0,0 +1,30 @@
+package core;
+
+/**
+ * Log severities, ordered from least to most severe
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR;
+
+    public boolean isAtLeast(LogLevel other) {
+        return compareTo(other) >= 0;
+    }
+
+    /**
+     * Parse a level name, e.g. "warn"
+     * @return parsed level, or the fallback for an empty value
+     */
+    public static LogLevel parse(String value, LogLevel fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown log level: " + value);
+        }
+    }
+}
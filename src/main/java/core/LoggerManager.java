@@ -1,16 +1,22 @@
 package core;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Logger Manager for consistent logging across framework
  * Design Pattern: Facade
- * Features: Console output + File logging
+ * Features: Console output + File logging, optional asynchronous batched writer
+ * Lines below the configured level are discarded before any formatting; use the
+ * {} placeholder or Supplier overloads so disabled calls build no strings.
+ * Lines logged inside a test are tagged with thread, device and test name and buffered
+ * per test; the buffer is written to the session log as one block at testEnd().
  */
 public class LoggerManager {
 
@@ -22,13 +28,34 @@ public class LoggerManager {
     private static final String ANSI_GREEN = "\u001B[32m";
     private static final String ANSI_BLUE = "\u001B[34m";
 
-    private static PrintWriter logFileWriter;
+    private static volatile RollingLogFile logFileWriter;
     private static String currentLogFile;
     private static final String LOG_DIR = "logs";
     private static boolean fileLoggingEnabled = true;
+    private static volatile LogLevel level = LogLevel.DEBUG;
 
-    // ThreadLocal để track test name cho mỗi thread (parallel execution)
-    private static ThreadLocal<String> currentTestName = new ThreadLocal<>();
+    // Async mode: lines are queued for a background writer (see AsyncLogWriter)
+    private static final int SYNC_FILE_BUFFER_BYTES = 8 * 1024;
+    private static final int ASYNC_FILE_BUFFER_BYTES = 64 * 1024;
+    private static final long ASYNC_DRAIN_TIMEOUT_MILLIS = 10000;
+    private static boolean asyncEnabled = false;
+    private static int asyncBufferSize = 8192;
+    private static AsyncLogWriter.OverflowPolicy asyncOverflow = AsyncLogWriter.OverflowPolicy.BLOCK;
+    private static long asyncFlushIntervalMillis = 200;
+    private static LogLevel asyncFlushLevel = LogLevel.WARN;
+    private static volatile AsyncLogWriter asyncWriter;
+    private static boolean shutdownHookRegistered = false;
+
+    // Size-based rotation of the active log file
+    private static long rotateBytes = 0;
+    private static Consumer<File> rotatedSegmentHandler;
+
+    // Timestamp text is formatted at most once per second
+    private static volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(-1, "");
+
+    // Log of the test running on each thread (parallel execution)
+    private static final ThreadLocal<TestLog> currentTestLog = new ThreadLocal<>();
+    private static final Set<TestLog> openTestLogs = ConcurrentHashMap.newKeySet();
 
     static {
         initializeLogDirectory();
@@ -44,17 +71,55 @@ public class LoggerManager {
         }
     }
 
+    /**
+     * Configure asynchronous logging; takes effect at the next startSession()
+     * @param bufferSize Ring buffer capacity in lines
+     * @param overflow DROP or BLOCK when the buffer is full
+     * @param flushIntervalMillis Maximum time a written line stays unflushed
+     * @param flushLevel Lines at or above this level are flushed immediately
+     */
+    public static synchronized void configureAsync(boolean enabled, int bufferSize, String overflow,
+                                                   long flushIntervalMillis, String flushLevel) {
+        asyncEnabled = enabled;
+        asyncBufferSize = bufferSize;
+        asyncOverflow = AsyncLogWriter.OverflowPolicy.valueOf(overflow.trim().toUpperCase());
+        asyncFlushIntervalMillis = flushIntervalMillis;
+        asyncFlushLevel = LogLevel.parse(flushLevel, LogLevel.WARN);
+    }
+
+    /**
+     * Configure size-based rotation; takes effect at the next startSession()
+     * @param maxBytes Rotate the active log once it reaches this size, 0 to disable
+     * @param onRotated Receives each finished segment (e.g. to compress it), may be null
+     */
+    public static synchronized void configureRotation(long maxBytes, Consumer<File> onRotated) {
+        rotateBytes = maxBytes;
+        rotatedSegmentHandler = onRotated;
+    }
+
+    public static boolean isAsyncActive() {
+        return asyncWriter != null;
+    }
+
     /**
      * Start logging for a test session
      */
-    public static void startSession() {
-        if (!fileLoggingEnabled) return;
+    public static synchronized void startSession() {
+        if (asyncEnabled) {
+            registerShutdownHook();
+        }
+        if (!fileLoggingEnabled) {
+            startAsyncWriter();
+            return;
+        }
 
         String timestamp = LocalDateTime.now().format(fileFormatter);
         currentLogFile = LOG_DIR + "/test_execution_" + timestamp + ".log";
         
         try {
-            logFileWriter = new PrintWriter(new FileWriter(currentLogFile, true), true);
+            logFileWriter = new RollingLogFile(new File(currentLogFile), rotateBytes,
+                    asyncEnabled ? ASYNC_FILE_BUFFER_BYTES : SYNC_FILE_BUFFER_BYTES, !asyncEnabled,
+                    rotatedSegmentHandler);
             String header = "=".repeat(80) + "\n" +
                           "TEST EXECUTION SESSION STARTED\n" +
                           "Timestamp: " + getTimestamp() + "\n" +
@@ -65,13 +130,44 @@ public class LoggerManager {
             System.err.println("Failed to initialize log file: " + e.getMessage());
             fileLoggingEnabled = false;
         }
+        startAsyncWriter();
+    }
+
+    private static void startAsyncWriter() {
+        if (asyncEnabled && asyncWriter == null) {
+            asyncWriter = new AsyncLogWriter(asyncBufferSize, asyncOverflow, asyncFlushIntervalMillis,
+                    System.out, System.err, fileLoggingEnabled ? logFileWriter : null);
+        }
+    }
+
+    /**
+     * Drain the async writer if the JVM exits without endSession()
+     */
+    private static void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(LoggerManager::endSession, "log-shutdown"));
+            shutdownHookRegistered = true;
+        }
     }
 
     /**
      * End logging session and close file
+     * In async mode, every queued line is written before the footer.
      */
-    public static void endSession() {
+    public static synchronized void endSession() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            // Later lines go straight to the sinks while the writer drains
+            asyncWriter = null;
+            writer.close(ASYNC_DRAIN_TIMEOUT_MILLIS);
+            log(writer.getSummary(), writer.getSummary());
+        }
         if (logFileWriter != null) {
+            // Tests that never reached testEnd()
+            for (TestLog testLog : openTestLogs) {
+                logFileWriter.println(testLog.getContent() + "(test log incomplete - testEnd not reached)");
+            }
+            openTestLogs.clear();
             String footer = "\n" + "=".repeat(80) + "\n" +
                           "TEST EXECUTION SESSION ENDED\n" +
                           "Timestamp: " + getTimestamp() + "\n" +
@@ -94,51 +190,172 @@ public class LoggerManager {
      * Write to both console and file
      */
     private static void log(String consoleMessage, String fileMessage) {
-        System.out.println(consoleMessage);
+        log(LogLevel.INFO, consoleMessage, fileMessage);
+    }
+
+    private static void log(LogLevel level, String consoleMessage, String fileMessage) {
+        TestLog testLog = currentTestLog.get();
+        if (testLog == null) {
+            write(level, consoleMessage, fileMessage);
+            return;
+        }
+        // Thread-confined buffer; reaches the session log file at testEnd()
+        String tag = testLog.tag;
+        testLog.append(tag + fileMessage);
+        write(level, tag + consoleMessage, null);
+    }
+
+    /**
+     * Write to the console and, when fileMessage is not null, to the session log file
+     */
+    private static void write(LogLevel level, String consoleMessage, String fileMessage) {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null && writer.offer(consoleMessage, fileLoggingEnabled ? fileMessage : null,
+                level == LogLevel.ERROR, level.isAtLeast(asyncFlushLevel))) {
+            return;
+        }
+        if (writer != null && writer.isRunning()) {
+            return; // Dropped by the overflow policy
+        }
+
+        (level == LogLevel.ERROR ? System.err : System.out).println(consoleMessage);
         
-        if (fileLoggingEnabled && logFileWriter != null) {
-            logFileWriter.println(fileMessage);
-            logFileWriter.flush();
+        RollingLogFile fileWriter = logFileWriter;
+        if (fileMessage != null && fileLoggingEnabled && fileWriter != null) {
+            fileWriter.println(fileMessage);
+            fileWriter.flush();
         }
     }
 
     private static String getTimestamp() {
-        return LocalDateTime.now().format(formatter);
+        long second = System.currentTimeMillis() / 1000;
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.second != second) {
+            cached = new CachedTimestamp(second, LocalDateTime.now().format(formatter));
+            cachedTimestamp = cached;
+        }
+        return cached.text;
+    }
+
+    /**
+     * Set the minimum level that is written; lower levels are discarded
+     */
+    public static void setLevel(LogLevel minimumLevel) {
+        level = minimumLevel;
+    }
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static boolean isEnabled(LogLevel candidate) {
+        return candidate.compareTo(level) >= 0;
+    }
+
+    public static boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    /**
+     * Replace each {} in the pattern with the next argument
+     */
+    static String format(String pattern, Object... args) {
+        StringBuilder result = new StringBuilder(pattern.length() + 16 * args.length);
+        int start = 0;
+        int argIndex = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+            result.append(pattern, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        return result.append(pattern, start, pattern.length()).toString();
     }
 
     public static void info(String message) {
+        if (!isEnabled(LogLevel.INFO)) return;
         String timestamp = getTimestamp();
         String consoleMsg = ANSI_BLUE + "[INFO]  " + timestamp + " - " + message + ANSI_RESET;
         String fileMsg = "[INFO]  " + timestamp + " - " + message;
         log(consoleMsg, fileMsg);
     }
 
+    public static void info(String pattern, Object arg) {
+        if (isEnabled(LogLevel.INFO)) info(format(pattern, arg));
+    }
+
+    public static void info(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO)) info(format(pattern, arg1, arg2));
+    }
+
+    public static void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) info(message.get());
+    }
+
     public static void debug(String message) {
+        if (!isEnabled(LogLevel.DEBUG)) return;
         String timestamp = getTimestamp();
         String msg = "[DEBUG] " + timestamp + " - " + message;
-        log(msg, msg);
+        log(LogLevel.DEBUG, msg, msg);
+    }
+
+    public static void debug(String pattern, Object arg) {
+        if (isEnabled(LogLevel.DEBUG)) debug(format(pattern, arg));
+    }
+
+    public static void debug(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.DEBUG)) debug(format(pattern, arg1, arg2));
+    }
+
+    public static void debug(String pattern, Object... args) {
+        if (isEnabled(LogLevel.DEBUG)) debug(format(pattern, args));
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) debug(message.get());
     }
 
     public static void warn(String message) {
+        if (!isEnabled(LogLevel.WARN)) return;
         String timestamp = getTimestamp();
         String consoleMsg = ANSI_YELLOW + "[WARN]  " + timestamp + " - " + message + ANSI_RESET;
         String fileMsg = "[WARN]  " + timestamp + " - " + message;
-        log(consoleMsg, fileMsg);
+        log(LogLevel.WARN, consoleMsg, fileMsg);
+    }
+
+    public static void warn(String pattern, Object arg) {
+        if (isEnabled(LogLevel.WARN)) warn(format(pattern, arg));
+    }
+
+    public static void warn(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.WARN)) warn(format(pattern, arg1, arg2));
+    }
+
+    public static void warn(Supplier<String> message) {
+        if (isEnabled(LogLevel.WARN)) warn(message.get());
     }
 
     public static void error(String message) {
+        if (!isEnabled(LogLevel.ERROR)) return;
         String timestamp = getTimestamp();
         String consoleMsg = ANSI_RED + "[ERROR] " + timestamp + " - " + message + ANSI_RESET;
         String fileMsg = "[ERROR] " + timestamp + " - " + message;
-        
-        System.err.println(consoleMsg);
-        if (fileLoggingEnabled && logFileWriter != null) {
-            logFileWriter.println(fileMsg);
-            logFileWriter.flush();
-        }
+        log(LogLevel.ERROR, consoleMsg, fileMsg);
+    }
+
+    public static void error(String pattern, Object arg) {
+        if (isEnabled(LogLevel.ERROR)) error(format(pattern, arg));
+    }
+
+    public static void error(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.ERROR)) error(format(pattern, arg1, arg2));
+    }
+
+    public static void error(Supplier<String> message) {
+        if (isEnabled(LogLevel.ERROR)) error(message.get());
     }
 
     public static void success(String message) {
+        if (!isEnabled(LogLevel.INFO)) return;
         String timestamp = getTimestamp();
         String consoleMsg = ANSI_GREEN + "[✓]     " + timestamp + " - " + message + ANSI_RESET;
         String fileMsg = "[PASS]  " + timestamp + " - " + message;
@@ -146,6 +363,7 @@ public class LoggerManager {
     }
 
     public static void step(String stepDescription) {
+        if (!isEnabled(LogLevel.INFO)) return;
         String timestamp = getTimestamp();
         String consoleMsg = ANSI_BLUE + "[STEP]  " + timestamp + " - " + stepDescription + ANSI_RESET;
         String fileMsg = "[STEP]  " + timestamp + " - " + stepDescription;
@@ -153,7 +371,9 @@ public class LoggerManager {
     }
 
     public static void testStart(String testName) {
-        currentTestName.set(testName);
+        TestLog testLog = new TestLog(testName, Thread.currentThread().getName());
+        currentTestLog.set(testLog);
+        openTestLogs.add(testLog);
         String timestamp = getTimestamp();
         
         String consoleSeparator = "\n" + ANSI_GREEN + "========================================" + ANSI_RESET;
@@ -165,13 +385,46 @@ public class LoggerManager {
         String fileMsg = fileSeparator + "\n" +
                         "TEST STARTED: " + testName + "\n" +
                         "Timestamp: " + timestamp + "\n" +
+                        "Thread: " + testLog.thread + "\n" +
                         "=".repeat(80);
         
-        log(consoleMsg, fileMsg);
+        testLog.append(fileMsg);
+        write(LogLevel.INFO, consoleMsg, null);
+    }
+
+    /**
+     * Record the device the current test runs on; later lines are tagged with it
+     */
+    public static void setTestDevice(String device) {
+        TestLog testLog = currentTestLog.get();
+        if (testLog != null) {
+            testLog.setDevice(device);
+        }
     }
 
-    public static void testEnd(String testName, boolean passed) {
-        currentTestName.remove();
+    /**
+     * Name of the test running on the current thread, or null outside a test
+     */
+    public static String getCurrentTestName() {
+        TestLog testLog = currentTestLog.get();
+        return testLog == null ? null : testLog.name;
+    }
+
+    /**
+     * Log lines of the current thread's test so far, or null outside a test
+     */
+    public static String getTestLog() {
+        TestLog testLog = currentTestLog.get();
+        return testLog == null ? null : testLog.getContent();
+    }
+
+    /**
+     * Finish the current test's log and append it to the session log as one block
+     * @return the complete test log, e.g. for an Allure attachment
+     */
+    public static String testEnd(String testName, boolean passed) {
+        TestLog testLog = currentTestLog.get();
+        currentTestLog.remove();
         String timestamp = getTimestamp();
         String status = passed ? "PASSED" : "FAILED";
         
@@ -187,7 +440,15 @@ public class LoggerManager {
                         "Timestamp: " + timestamp + "\n" +
                         fileSeparator + "\n";
         
-        log(consoleMsg, fileMsg);
+        if (testLog == null) {
+            write(LogLevel.INFO, consoleMsg, fileMsg);
+            return fileMsg;
+        }
+        testLog.append(fileMsg);
+        openTestLogs.remove(testLog);
+        String content = testLog.getContent();
+        write(LogLevel.INFO, consoleMsg, content.stripTrailing());
+        return content;
     }
 
     /**
@@ -203,4 +464,43 @@ public class LoggerManager {
     public static boolean isFileLoggingEnabled() {
         return fileLoggingEnabled;
     }
+
+    /**
+     * Log lines of one test; written by its own thread, read at testEnd() or endSession()
+     */
+    private static final class TestLog {
+        private final String name;
+        private final String thread;
+        private final StringBuilder lines = new StringBuilder(4096);
+        private volatile String tag;
+
+        TestLog(String name, String thread) {
+            this.name = name;
+            this.thread = thread;
+            setDevice("-");
+        }
+
+        void setDevice(String device) {
+            String deviceName = device == null || device.isEmpty() ? "-" : device;
+            tag = "[" + thread + " | " + deviceName + " | " + name + "] ";
+        }
+
+        synchronized void append(String line) {
+            lines.append(line).append(System.lineSeparator());
+        }
+
+        synchronized String getContent() {
+            return lines.toString();
+        }
+    }
+
+    private static final class CachedTimestamp {
+        private final long second;
+        private final String text;
+
+        CachedTimestamp(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
 }
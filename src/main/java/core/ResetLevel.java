@@ -0,0 +1,43 @@
+package core;
+
+/**
+ * App reset levels, ordered from cheapest to most thorough
+ * A test declares the minimum level it needs; a higher level always satisfies a lower one.
+ */
+public enum ResetLevel {
+    /** Keep the app exactly as the previous test left it */
+    NONE,
+    /** Bring the running app back to its home screen */
+    NAVIGATE_HOME,
+    /** Terminate and relaunch the app process */
+    RESTART_APP,
+    /** Terminate, clear app data and relaunch */
+    CLEAR_DATA,
+    /** Uninstall and install the app again */
+    REINSTALL,
+    /** Quit the Appium session and start a new one */
+    NEW_SESSION;
+
+    public boolean satisfies(ResetLevel required) {
+        return compareTo(required) >= 0;
+    }
+
+    public static ResetLevel max(ResetLevel a, ResetLevel b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /**
+     * Parse a level name, e.g. "clear_data"
+     * @return parsed level, or null for an empty value
+     */
+    public static ResetLevel parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown reset level: " + value);
+        }
+    }
+}
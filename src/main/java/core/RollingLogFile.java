@@ -0,0 +1,107 @@
+package core;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.function.Consumer;
+
+/**
+ * Session log file with size-based rotation
+ * When the file grows past maxBytes it is closed, renamed to a numbered segment
+ * (test_execution_X.part1.log, part2, ...) and reopened empty under the original name,
+ * so getCurrentLogFile() stays valid. Finished segments are handed to onRotated,
+ * e.g. for background compression. Sizes are counted in characters, which is close
+ * enough to bytes for a rotation threshold.
+ */
+public class RollingLogFile {
+
+    private final File file;
+    private final long maxBytes;
+    private final int bufferBytes;
+    private final boolean autoFlush;
+    private final Consumer<File> onRotated;
+
+    private PrintWriter writer;
+    private long bytes;
+    private int segments;
+
+    /**
+     * @param maxBytes Rotation threshold, 0 to never rotate
+     * @param autoFlush Flush after every line
+     * @param onRotated Receives each finished segment, may be null
+     */
+    public RollingLogFile(File file, long maxBytes, int bufferBytes, boolean autoFlush,
+                          Consumer<File> onRotated) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.bufferBytes = bufferBytes;
+        this.autoFlush = autoFlush;
+        this.onRotated = onRotated;
+        open();
+    }
+
+    private void open() throws IOException {
+        writer = new PrintWriter(new BufferedWriter(new FileWriter(file, true), bufferBytes), false);
+        bytes = file.length();
+    }
+
+    public synchronized void println(String line) {
+        if (writer == null) {
+            return;
+        }
+        writer.println(line);
+        bytes += line.length() + 1;
+        if (autoFlush) {
+            writer.flush();
+        }
+        if (maxBytes > 0 && bytes >= maxBytes) {
+            rotate();
+        }
+    }
+
+    private void rotate() {
+        writer.close();
+        String path = file.getPath();
+        String stem = path.endsWith(".log") ? path.substring(0, path.length() - 4) : path;
+        File segment = new File(stem + ".part" + (segments + 1) + ".log");
+        boolean renamed = file.renameTo(segment);
+        try {
+            open();
+        } catch (IOException e) {
+            System.err.println("Failed to reopen log file after rotation: " + e.getMessage());
+            writer = null;
+            return;
+        }
+        if (!renamed) {
+            System.err.println("Failed to rotate log file " + path + "; continuing in the same file");
+            return;
+        }
+        segments++;
+        writer.println("(continued from " + segment.getName() + ")");
+        if (onRotated != null) {
+            onRotated.accept(segment);
+        }
+    }
+
+    public synchronized void flush() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    public synchronized void close() {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * Number of finished segments rotated out of the active file
+     */
+    public synchronized int getSegmentCount() {
+        return segments;
+    }
+}
@@ -0,0 +1,54 @@
+package core;
+
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.HttpClient;
+
+import java.net.URL;
+
+/**
+ * Appium command executor that records the latency of every command
+ * A thread may register a hook that runs before each of its commands; commands the hook
+ * itself sends do not trigger it again.
+ * Design Pattern: Decorator
+ */
+public class TimedCommandExecutor extends AppiumCommandExecutor {
+
+    private static final ThreadLocal<Runnable> beforeCommand = new ThreadLocal<>();
+
+    public TimedCommandExecutor(URL appiumUrl, HttpClient.Factory clientFactory) {
+        super(MobileCommand.commandRepository, appiumUrl, clientFactory);
+    }
+
+    /**
+     * Run the hook before every command the current thread sends, or remove it (null)
+     */
+    public static void setBeforeCommand(Runnable hook) {
+        if (hook == null) {
+            beforeCommand.remove();
+        } else {
+            beforeCommand.set(hook);
+        }
+    }
+
+    @Override
+    public Response execute(Command command) {
+        Runnable hook = beforeCommand.get();
+        if (hook != null) {
+            beforeCommand.remove();
+            try {
+                hook.run();
+            } finally {
+                beforeCommand.set(hook);
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            return super.execute(command);
+        } finally {
+            CommandMetrics.record(command.getName(), System.nanoTime() - start);
+        }
+    }
+}
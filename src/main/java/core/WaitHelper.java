@@ -2,105 +2,236 @@ package core;
 
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Helper class for explicit waits
+ * All waits go through AdaptiveWait: immediate first check, backoff polling
+ * and per-locator learned latency
  * Supports both Android and iOS platforms
  * Design Pattern: Fluent Interface
  */
 public class WaitHelper {
     
+    private static final int FAST_POLL_MILLIS = 100;
+
     private final AppiumDriver driver;
-    private final WebDriverWait wait;
     private final int defaultTimeout;
+    private final long initialPollMillis;
+    private final long maxPollMillis;
+
+    // Wait instances are reused per timeout
+    private final Map<Long, AdaptiveWait> waits = new HashMap<>();
     
     public WaitHelper(AppiumDriver driver) {
-        this.driver = driver;
-        this.defaultTimeout = ConfigReader.getInstance().getExplicitWait();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(defaultTimeout));
+        this(driver, ConfigReader.getInstance().getExplicitWait());
     }
     
     public WaitHelper(AppiumDriver driver, int timeoutSeconds) {
         this.driver = driver;
         this.defaultTimeout = timeoutSeconds;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        ConfigReader config = ConfigReader.getInstance();
+        this.initialPollMillis = config.getWaitInitialPollMillis();
+        this.maxPollMillis = config.getWaitMaxPollMillis();
     }
     
     /**
      * Wait for element to be visible
      */
     public WebElement waitForVisibility(By locator) {
-        LoggerManager.debug("Waiting for element to be visible: " + locator);
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        LoggerManager.debug("Waiting for element to be visible: {}", locator);
+        return waitForVisibility(locator, defaultTimeout);
     }
     
     /**
      * Wait for element to be visible with custom timeout
      */
     public WebElement waitForVisibility(By locator, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return customWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return wait(timeoutSeconds).until(ExpectedConditions.visibilityOfElementLocated(locator), "visible " + locator);
     }
     
     /**
      * Wait for element to be clickable
      */
     public WebElement waitForClickable(By locator) {
-        LoggerManager.debug("Waiting for element to be clickable: " + locator);
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        LoggerManager.debug("Waiting for element to be clickable: {}", locator);
+        return waitForClickable(locator, defaultTimeout);
     }
     
     /**
      * Wait for element to be clickable with custom timeout
      */
     public WebElement waitForClickable(By locator, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return customWait.until(ExpectedConditions.elementToBeClickable(locator));
+        return wait(timeoutSeconds).until(ExpectedConditions.elementToBeClickable(locator), "clickable " + locator);
+    }
+    
+    /**
+     * Wait until a lookup returns an element - one round trip per poll
+     * For locators that already encode the wanted state (see LocatorCompiler.compileState);
+     * the returned element is reused for the following action.
+     * @param key Wait key for statistics, e.g. "clickable By.id: x"
+     */
+    public WebElement waitForMatch(By stateLocator, int timeoutSeconds, String key) {
+        return wait(timeoutSeconds).until(d -> {
+            List<WebElement> elements = driver.findElements(stateLocator);
+            return elements.isEmpty() ? null : elements.get(0);
+        }, key);
     }
     
     /**
      * Wait for element to be invisible
      */
     public boolean waitForInvisibility(By locator) {
-        LoggerManager.debug("Waiting for element to be invisible: " + locator);
-        return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        LoggerManager.debug("Waiting for element to be invisible: {}", locator);
+        return waitForInvisibility(locator, defaultTimeout);
     }
     
     /**
      * Wait for element to be invisible with custom timeout
      */
     public boolean waitForInvisibility(By locator, int timeoutSeconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return customWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return wait(timeoutSeconds).until(ExpectedConditions.invisibilityOfElementLocated(locator), "invisible " + locator);
     }
     
     /**
      * Wait for text to be present in element
      */
     public boolean waitForTextPresent(By locator, String text) {
-        LoggerManager.debug("Waiting for text '" + text + "' in element: " + locator);
-        return wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        LoggerManager.debug("Waiting for text '{}' in element: {}", text, locator);
+        return wait(defaultTimeout).until(ExpectedConditions.textToBePresentInElementLocated(locator, text),
+                "text " + locator);
     }
     
     /**
      * Wait for element to be present in DOM
      */
     public WebElement waitForPresence(By locator) {
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return wait(defaultTimeout).until(ExpectedConditions.presenceOfElementLocated(locator), "present " + locator);
     }
     
     /**
      * Wait for alert to be present
      */
     public void waitForAlert() {
-        wait.until(ExpectedConditions.alertIsPresent());
+        wait(defaultTimeout).until(ExpectedConditions.alertIsPresent(), "alert");
+    }
+
+    /**
+     * Wait for whichever of several elements appears first, in one polling loop
+     * Each poll looks up every locator once without the implicit wait.
+     * @param outcomes Outcome keys mapped to the locator that signals them, checked in map order
+     * @return the first outcome that fired with its element, or null when none fired within the timeout
+     */
+    public <K> Outcome<K> waitForAny(Map<K, By> outcomes, int timeoutSeconds) {
+        LoggerManager.debug("Waiting for any of: {}", outcomes.keySet());
+        long start = System.currentTimeMillis();
+        int implicitWait = DriverFactory.getImplicitWaitSeconds();
+        if (implicitWait > 0) {
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        }
+        try {
+            return wait(timeoutSeconds).until(d -> {
+                for (Map.Entry<K, By> outcome : outcomes.entrySet()) {
+                    List<WebElement> elements = driver.findElements(outcome.getValue());
+                    if (!elements.isEmpty()) {
+                        return new Outcome<>(outcome.getKey(), outcome.getValue(), elements.get(0),
+                                System.currentTimeMillis() - start);
+                    }
+                }
+                return null;
+            }, "any " + outcomes.values());
+        } catch (TimeoutException e) {
+            LoggerManager.debug("None of {} within {}s", outcomes.keySet(), timeoutSeconds);
+            return null;
+        } finally {
+            if (implicitWait > 0) {
+                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+            }
+        }
+    }
+
+    /**
+     * Reusable adaptive wait for the timeout
+     */
+    private AdaptiveWait wait(int timeoutSeconds) {
+        return waits.computeIfAbsent(timeoutSeconds * 1000L,
+                timeout -> new AdaptiveWait(driver, timeout, initialPollMillis, maxPollMillis));
     }
     
+    // ==================== Fast Presence Checks ====================
+
+    /**
+     * Check presence with a single lookup - never blocks for the implicit wait
+     */
+    public boolean isPresentNow(By locator) {
+        return !findNow(locator).isEmpty();
+    }
+
+    /**
+     * Check presence, polling for at most budgetMillis
+     */
+    public boolean isPresentWithin(By locator, long budgetMillis) {
+        long deadline = System.currentTimeMillis() + budgetMillis;
+        while (!isPresentNow(locator)) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            sleep(FAST_POLL_MILLIS);
+        }
+        return true;
+    }
+
+    /**
+     * Check that the element is absent, or disappears within budgetMillis
+     */
+    public boolean isAbsentWithin(By locator, long budgetMillis) {
+        long deadline = System.currentTimeMillis() + budgetMillis;
+        while (isPresentNow(locator)) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            sleep(FAST_POLL_MILLIS);
+        }
+        return true;
+    }
+
+    /**
+     * Fail unless the element is absent within the budget
+     */
+    public void assertAbsent(By locator, long budgetMillis) {
+        if (!isAbsentWithin(locator, budgetMillis)) {
+            throw new AssertionError("Element still present after " + budgetMillis + " ms: " + locator);
+        }
+    }
+
+    /**
+     * Fail unless the element is absent right now
+     */
+    public void assertAbsent(By locator) {
+        assertAbsent(locator, 0);
+    }
+
+    private List<WebElement> findNow(By locator) {
+        int implicitWait = DriverFactory.getImplicitWaitSeconds();
+        if (implicitWait == 0) {
+            return driver.findElements(locator);
+        }
+        // Suspend the implicit wait for this lookup only
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return driver.findElements(locator);
+        } finally {
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+        }
+    }
+
     /**
      * Static sleep method
      */
@@ -115,11 +246,49 @@ public class WaitHelper {
     
     /**
      * Fluent wait with custom polling
+     * The polling interval is the starting point; it still backs off up to the max poll
      */
     public WebElement fluentWait(By locator, int timeoutSeconds, int pollingMillis) {
-        WebDriverWait fluentWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        fluentWait.pollingEvery(Duration.ofMillis(pollingMillis));
-        return fluentWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        AdaptiveWait fluentWait = new AdaptiveWait(driver, timeoutSeconds * 1000L, pollingMillis,
+                Math.max(pollingMillis, maxPollMillis));
+        return fluentWait.until(ExpectedConditions.visibilityOfElementLocated(locator), "visible " + locator);
     }
-}
 
+    /**
+     * Outcome of a waitForAny race
+     */
+    public static class Outcome<K> {
+        private final K key;
+        private final By locator;
+        private final WebElement element;
+        private final long elapsedMillis;
+
+        Outcome(K key, By locator, WebElement element, long elapsedMillis) {
+            this.key = key;
+            this.locator = locator;
+            this.element = element;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return key + " after " + elapsedMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-locator wait statistics collected by AdaptiveWait
+ * Keeps a latency histogram for every wait key and a learned typical latency
+ * (exponentially weighted average) that the next wait starts from.
+ */
+public class WaitStats {
+
+    // Histogram bucket upper bounds in milliseconds; the last bucket is open-ended
+    private static final long[] BUCKET_BOUNDS = {100, 250, 500, 1000, 2000, 5000, 10000};
+    private static final String[] BUCKET_LABELS = {
+            "<100ms", "<250ms", "<500ms", "<1s", "<2s", "<5s", "<10s", ">=10s"};
+    private static final double SMOOTHING = 0.3;
+
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private WaitStats() {
+        // Utility class
+    }
+
+    /**
+     * Record a wait that succeeded after elapsedMillis
+     */
+    public static void recordSuccess(String key, long elapsedMillis, int polls) {
+        Stats entry = stats.computeIfAbsent(key, k -> new Stats());
+        entry.histogram.incrementAndGet(bucket(elapsedMillis));
+        entry.polls.add(polls);
+        entry.learn(elapsedMillis);
+    }
+
+    public static void recordTimeout(String key, int polls) {
+        Stats entry = stats.computeIfAbsent(key, k -> new Stats());
+        entry.timeouts.increment();
+        entry.polls.add(polls);
+    }
+
+    /**
+     * Learned typical latency for the key, or 0 when nothing was recorded yet
+     */
+    public static long getTypicalMillis(String key) {
+        Stats entry = stats.get(key);
+        return entry == null ? 0 : Math.max(0, Math.round(entry.typicalMillis));
+    }
+
+    /**
+     * Histogram counts for the key, labelled by bucket, plus timeouts
+     */
+    public static Map<String, Long> getHistogram(String key) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        Stats entry = stats.get(key);
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            histogram.put(BUCKET_LABELS[i], entry == null ? 0 : entry.histogram.get(i));
+        }
+        histogram.put("timeout", entry == null ? 0 : entry.timeouts.sum());
+        return histogram;
+    }
+
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder("WAIT HISTOGRAMS\n");
+        summary.append(String.format("%-70s %8s", "Wait", "typical"));
+        for (String label : BUCKET_LABELS) {
+            summary.append(String.format(" %7s", label));
+        }
+        summary.append(String.format(" %7s %7s%n", "timeout", "polls"));
+
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            Stats value = entry.getValue();
+            summary.append(String.format("%-70s %6dms", abbreviate(entry.getKey()), Math.max(0, Math.round(value.typicalMillis))));
+            for (int i = 0; i < BUCKET_LABELS.length; i++) {
+                summary.append(String.format(" %7d", value.histogram.get(i)));
+            }
+            summary.append(String.format(" %7d %7d%n", value.timeouts.sum(), value.polls.sum()));
+        }
+        return summary.toString();
+    }
+
+    public static void logSummary() {
+        if (!stats.isEmpty()) {
+            LoggerManager.info(getSummary());
+        }
+    }
+
+    private static int bucket(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (millis < BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS.length;
+    }
+
+    private static String abbreviate(String key) {
+        return key.length() <= 70 ? key : key.substring(0, 67) + "...";
+    }
+
+    private static class Stats {
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_LABELS.length);
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder polls = new LongAdder();
+        private volatile double typicalMillis = -1;
+
+        synchronized void learn(long elapsedMillis) {
+            typicalMillis = typicalMillis < 0
+                    ? elapsedMillis
+                    : SMOOTHING * elapsedMillis + (1 - SMOOTHING) * typicalMillis;
+        }
+    }
+}
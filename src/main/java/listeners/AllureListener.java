@@ -1,17 +1,14 @@
 package listeners;
 
 import io.qameta.allure.Allure;
-import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
-import io.appium.java_client.AppiumDriver;
-import core.DriverFactory;
 import core.LoggerManager;
+import utils.FailureEvidence;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
@@ -35,15 +32,8 @@ public class AllureListener implements ITestListener {
     public void onTestFailure(ITestResult result) {
         LoggerManager.error("❌ Test failed: " + result.getMethod().getMethodName());
         
-        // Capture screenshot on failure
-        AppiumDriver driver = DriverFactory.getDriver();
-        if (driver != null) {
-            saveScreenshot(driver);
-            savePageSource(driver);
-        }
-        
-        // Attach exception details
-        saveTextLog("Error Message: " + result.getThrowable().getMessage());
+        // Reuses the evidence BaseTest captured; never starts a session of its own
+        FailureEvidence.collect(result).attachToAllure();
     }
 
     @Override
@@ -64,50 +54,15 @@ public class AllureListener implements ITestListener {
         attachLogFile();
     }
 
-    /**
-     * Attach screenshot to Allure report
-     */
-    @Attachment(value = "Screenshot on Failure", type = "image/png")
-    private byte[] saveScreenshot(AppiumDriver driver) {
-        try {
-            return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-        } catch (Exception e) {
-            LoggerManager.error("Failed to capture screenshot: " + e.getMessage());
-            return new byte[0];
-        }
-    }
-
-    /**
-     * Attach page source to Allure report
-     */
-    @Attachment(value = "Page Source", type = "text/xml")
-    private String savePageSource(AppiumDriver driver) {
-        try {
-            return driver.getPageSource();
-        } catch (Exception e) {
-            LoggerManager.error("Failed to capture page source: " + e.getMessage());
-            return "Unable to capture page source";
-        }
-    }
-
-    /**
-     * Attach text log to Allure report
-     */
-    @Attachment(value = "Test Log", type = "text/plain")
-    private String saveTextLog(String message) {
-        return message;
-    }
-
     /**
      * Attach current log file to Allure report
      */
     private void attachLogFile() {
         String logFilePath = LoggerManager.getCurrentLogFile();
         if (logFilePath != null) {
-            try {
-                byte[] logContent = Files.readAllBytes(Paths.get(logFilePath));
-                Allure.addAttachment("Test Execution Log", "text/plain", 
-                    new String(logContent), ".log");
+            // Streamed; the log can be large
+            try (InputStream logContent = Files.newInputStream(Paths.get(logFilePath))) {
+                Allure.addAttachment("Test Execution Log", "text/plain", logContent, ".log");
                 LoggerManager.info("Log file attached to Allure report");
             } catch (IOException e) {
                 LoggerManager.error("Failed to attach log file: " + e.getMessage());
@@ -1,5 +1,7 @@
 package listeners;
 
+import core.ConfigReader;
+import core.LogLevel;
 import core.LoggerManager;
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
@@ -11,13 +13,30 @@ import utils.LogUtils;
  */
 public class LoggingListener implements ISuiteListener {
 
+    private static final long ARCHIVE_WAIT_MILLIS = 60000;
+
     @Override
     public void onStart(ISuite suite) {
-        // Clean up old logs before starting new session
-        LogUtils.cleanupOldLogs(10);
-        
+        ConfigReader config = ConfigReader.getInstance();
+        LoggerManager.setLevel(LogLevel.parse(config.getLogLevel(), LogLevel.DEBUG));
+        LoggerManager.configureAsync(config.getLogAsync(), config.getLogAsyncBufferSize(),
+                config.getLogAsyncOverflow(), config.getLogAsyncFlushIntervalMillis(),
+                config.getLogAsyncFlushLevel());
+
+        boolean archive = config.getLogArchiveEnabled();
+        LoggerManager.configureRotation(config.getLogRotateSizeMb() * 1024 * 1024,
+                archive ? LogUtils::archiveAsync : null);
+
         // Start logging session when suite starts
         LoggerManager.startSession();
+
+        // Compress previous sessions and apply retention in the background
+        if (archive) {
+            LogUtils.archiveLogs();
+        }
+        LogUtils.applyRetentionAsync(config.getLogRetentionMaxMb() * 1024 * 1024,
+                config.getLogRetentionMaxAgeDays());
+
         LoggerManager.info("=== Test Suite Started: " + suite.getName() + " ===");
     }
 
@@ -36,7 +55,8 @@ public class LoggingListener implements ISuiteListener {
         
         LoggerManager.endSession();
         
-        // Print log summary
+        // Print log summary once background archiving is done
+        LogUtils.awaitArchiving(ARCHIVE_WAIT_MILLIS);
         LogUtils.printLogSummary();
     }
 }
@@ -0,0 +1,39 @@
+package listeners;
+
+import core.ConfigReader;
+import core.DeviceRegistry;
+import core.DriverFactory;
+import core.LoggerManager;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * TestNG listener that sizes suite parallelism to the device pool
+ * Each <test> block runs on its own worker thread, one thread per device
+ * Also tells DriverFactory how many tests will run, so no session is pre-warmed after the last one
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener, ISuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ConfigReader.getInstance().getDevicePoolEnabled()) {
+            return;
+        }
+
+        int poolSize = DeviceRegistry.getInstance().size();
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(poolSize);
+            LoggerManager.info("Suite '" + suite.getName() + "' runs " + poolSize + " tests in parallel");
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        DriverFactory.setRemainingTests(suite.getAllMethods().size());
+    }
+}
@@ -1,11 +1,11 @@
 package pages;
 
 import core.LoggerManager;
-import core.WaitHelper;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
 
 import base.BasePage;
+import base.ElementQueryBatch;
 
 /**
  * Buttons Tab Page Object
@@ -86,6 +86,18 @@ public class ButtonsPage extends BasePage {
         return isDisplayed(resetButton, 3);
     }
 
+    /**
+     * Visibility of all buttons read in one round trip
+     */
+    public ButtonsVisibility getButtonsVisibility() {
+        return new ButtonsVisibility(batch()
+                .displayed(button1)
+                .displayed(button2)
+                .displayed(button3)
+                .displayed(resetButton)
+                .resolveWhenPresent(3));
+    }
+
     public String getButton1Text() {
         return getText(button1);
     }
@@ -103,22 +115,45 @@ public class ButtonsPage extends BasePage {
     public ListPage navigateToListTab() {
         LoggerManager.step("Navigating to List tab");
         click(listTab);
-        WaitHelper.sleep(1000);
-        return new ListPage(driver);
+        return transitionTo(new ListPage(driver), 1000);
     }
 
     public SwitchesPage navigateToSwitchesTab() {
         LoggerManager.step("Navigating to Switches tab");
         click(switchesTab);
-        WaitHelper.sleep(1000);
-        return new SwitchesPage(driver);
+        return transitionTo(new SwitchesPage(driver), 1000);
     }
 
     public InputPage navigateToInputTab() {
         LoggerManager.step("Navigating to Input tab");
         click(inputTab);
-        WaitHelper.sleep(1000);
-        return new InputPage(driver);
+        return transitionTo(new InputPage(driver), 1000);
     }
-}
 
+    /**
+     * Button visibility resolved by {@link #getButtonsVisibility()}
+     */
+    public final class ButtonsVisibility {
+        private final ElementQueryBatch.Result result;
+
+        private ButtonsVisibility(ElementQueryBatch.Result result) {
+            this.result = result;
+        }
+
+        public boolean isButton1Displayed() {
+            return result.isDisplayed(button1);
+        }
+
+        public boolean isButton2Displayed() {
+            return result.isDisplayed(button2);
+        }
+
+        public boolean isButton3Displayed() {
+            return result.isDisplayed(button3);
+        }
+
+        public boolean isResetButtonDisplayed() {
+            return result.isDisplayed(resetButton);
+        }
+    }
+}
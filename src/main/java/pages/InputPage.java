@@ -1,7 +1,6 @@
 package pages;
 
 import core.LoggerManager;
-import core.WaitHelper;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
 
@@ -68,22 +67,19 @@ public class InputPage extends BasePage {
     public ListPage navigateToListTab() {
         LoggerManager.step("Navigating to List tab");
         click(listTab);
-        WaitHelper.sleep(1000);
-        return new ListPage(driver);
+        return transitionTo(new ListPage(driver), 1000);
     }
 
     public ButtonsPage navigateToButtonsTab() {
         LoggerManager.step("Navigating to Buttons tab");
         click(buttonsTab);
-        WaitHelper.sleep(1000);
-        return new ButtonsPage(driver);
+        return transitionTo(new ButtonsPage(driver), 1000);
     }
 
     public SwitchesPage navigateToSwitchesTab() {
         LoggerManager.step("Navigating to Switches tab");
         click(switchesTab);
-        WaitHelper.sleep(1000);
-        return new SwitchesPage(driver);
+        return transitionTo(new SwitchesPage(driver), 1000);
     }
 }
 
@@ -1,7 +1,6 @@
 package pages;
 
 import core.LoggerManager;
-import core.WaitHelper;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -19,7 +18,10 @@ public class ListPage extends BasePage {
 
     // ==================== Locators ====================
     
-    private final By testTitle = By.xpath("//android.widget.TextView[@text='Test']");
+    // Also signals a successful login (see LoginPage)
+    static final By TITLE = By.xpath("//android.widget.TextView[@text='Test']");
+
+    private final By testTitle = TITLE;
     private final By instructionsText = By.id("com.example.trusttest:id/instructionsText");
     private final By listItems = By.id("android:id/text1");
     
@@ -27,6 +29,8 @@ public class ListPage extends BasePage {
     private final By switchesTab = By.xpath("//android.widget.LinearLayout[@content-desc='Switches']");
     private final By inputTab = By.xpath("//android.widget.LinearLayout[@content-desc='Input']");
     
+    private final By listTab = By.xpath("//android.widget.LinearLayout[@content-desc='List']");
+
     private final By navigateUpButton = By.xpath("//android.widget.ImageButton[@content-desc='Navigate up']");
     
     public ListPage(AppiumDriver driver) {
@@ -35,7 +39,12 @@ public class ListPage extends BasePage {
 
     @Override
     public boolean isPageLoaded() {
-        return isDisplayed(testTitle, 5) && isDisplayed(instructionsText, 5);
+        return isReady(5);
+    }
+
+    @Override
+    protected boolean isReady(int timeoutSeconds) {
+        return isDisplayed(testTitle, timeoutSeconds) && isDisplayed(instructionsText, timeoutSeconds);
     }
 
     public String getInstructionsText() {
@@ -47,7 +56,7 @@ public class ListPage extends BasePage {
     }
 
     public int getListItemCount() {
-        return getListItems().size();
+        return count(listItems);
     }
 
     public void clickListItem(String itemText) {
@@ -59,6 +68,7 @@ public class ListPage extends BasePage {
         LoggerManager.step("Clicking list item at index: " + index);
         List<WebElement> items = getListItems();
         if (index < items.size()) {
+            invalidateSnapshot();
             items.get(index).click();
         } else {
             LoggerManager.warn("Index out of bounds: " + index);
@@ -72,22 +82,41 @@ public class ListPage extends BasePage {
     public ButtonsPage navigateToButtonsTab() {
         LoggerManager.step("Navigating to Buttons tab");
         click(buttonsTab);
-        WaitHelper.sleep(1000);
-        return new ButtonsPage(driver);
+        return transitionTo(new ButtonsPage(driver), 1000);
     }
 
     public SwitchesPage navigateToSwitchesTab() {
         LoggerManager.step("Navigating to Switches tab");
         click(switchesTab);
-        WaitHelper.sleep(1000);
-        return new SwitchesPage(driver);
+        return transitionTo(new SwitchesPage(driver), 1000);
     }
 
     public InputPage navigateToInputTab() {
         LoggerManager.step("Navigating to Input tab");
         click(inputTab);
-        WaitHelper.sleep(1000);
-        return new InputPage(driver);
+        return transitionTo(new InputPage(driver), 1000);
+    }
+
+    /**
+     * Bring an already authenticated app back to the List tab
+     * @return false when the app is not on an authenticated screen
+     */
+    public boolean returnHome() {
+        if (isPresentNow(testTitle)) {
+            return true;
+        }
+        if (!isPresentNow(listTab)) {
+            return false;
+        }
+        click(listTab);
+        return isReady(5);
+    }
+
+    /**
+     * Wait for the List page after an external navigation (e.g. deep link)
+     */
+    public boolean waitUntilShown(int timeoutSeconds) {
+        return isReady(timeoutSeconds);
     }
 
     public void clickNavigateUp() {
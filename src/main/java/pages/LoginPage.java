@@ -7,6 +7,9 @@ import org.openqa.selenium.By;
 
 import base.BasePage;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Login Page Object
  * Supports both Android and iOS platforms
@@ -19,6 +22,20 @@ public class LoginPage extends BasePage {
     private final By passwordField = By.id("com.example.trusttest:id/editTextPassword");
     private final By submitButton = By.id("com.example.trusttest:id/buttonSubmit");
     private final By loginTitle = By.xpath("//android.widget.TextView[@text='Login']");
+    private final By errorToast = By.xpath("//android.widget.Toast");
+
+    // Fixed wait the login transition replaces (time saved report)
+    private static final long LOGIN_SLEEP_MILLIS = 10000;
+    private static final int SUBMIT_OUTCOME_TIMEOUT = 3;
+
+    /**
+     * What the app showed after Submit
+     */
+    public enum SubmitOutcome {
+        LOGGED_IN,
+        ERROR_SHOWN,
+        NO_CHANGE
+    }
 
     
     public LoginPage(AppiumDriver driver) {
@@ -54,14 +71,47 @@ public class LoginPage extends BasePage {
         enterUsername(username);
         enterPassword(password);
         hideKeyboard();
-        
-        clickSubmit();
-        
-        LoggerManager.info("Waiting for login to complete...");
-        WaitHelper.sleep(10000);
-        
+
+        ListPage listPage = submitLogin();
+
         LoggerManager.success("Login completed");
-        return new ListPage(driver);
+        return listPage;
+    }
+
+    /**
+     * Submit and return once the List page is ready
+     */
+    public ListPage submitLogin() {
+        LoggerManager.step("Clicking Submit button");
+        click(submitButton);
+        LoggerManager.info("Waiting for login to complete...");
+        return transitionTo(new ListPage(driver), LOGIN_SLEEP_MILLIS);
+    }
+
+    /**
+     * Submit and resolve at the first observable outcome: List page or error toast
+     * Returns NO_CHANGE when neither shows up within a short timeout
+     */
+    public SubmitOutcome submitAndAwaitOutcome() {
+        clickSubmit();
+        Map<SubmitOutcome, By> outcomes = new LinkedHashMap<>();
+        outcomes.put(SubmitOutcome.LOGGED_IN, ListPage.TITLE);
+        outcomes.put(SubmitOutcome.ERROR_SHOWN, errorToast);
+
+        WaitHelper.Outcome<SubmitOutcome> outcome = waitForAny(outcomes, SUBMIT_OUTCOME_TIMEOUT);
+        if (outcome == null) {
+            LoggerManager.info("Submit outcome: no change after " + SUBMIT_OUTCOME_TIMEOUT + "s");
+            return SubmitOutcome.NO_CHANGE;
+        }
+        LoggerManager.info("Submit outcome: " + outcome);
+        return outcome.getKey();
+    }
+
+    /**
+     * Single lookup check without waiting
+     */
+    public boolean isShownNow() {
+        return isPresentNow(loginTitle);
     }
 
     public boolean isSubmitButtonDisplayed() {
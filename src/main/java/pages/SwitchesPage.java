@@ -6,6 +6,7 @@ import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
 
 import base.BasePage;
+import base.ElementQueryBatch;
 
 /**
  * Switches Tab Page Object
@@ -65,16 +66,29 @@ public class SwitchesPage extends BasePage {
 
     public void turnOnAllSwitches() {
         LoggerManager.step("Turning ON all switches");
-        if (!isSwitch1On()) toggleSwitch1();
-        if (!isSwitch2On()) toggleSwitch2();
-        if (!isSwitch3On()) toggleSwitch3();
+        ElementQueryBatch.Result states = readSwitchStates();
+        if (!states.isChecked(switch1)) toggleSwitch1();
+        if (!states.isChecked(switch2)) toggleSwitch2();
+        if (!states.isChecked(switch3)) toggleSwitch3();
     }
 
     public void turnOffAllSwitches() {
         LoggerManager.step("Turning OFF all switches");
-        if (isSwitch1On()) toggleSwitch1();
-        if (isSwitch2On()) toggleSwitch2();
-        if (isSwitch3On()) toggleSwitch3();
+        ElementQueryBatch.Result states = readSwitchStates();
+        if (states.isChecked(switch1)) toggleSwitch1();
+        if (states.isChecked(switch2)) toggleSwitch2();
+        if (states.isChecked(switch3)) toggleSwitch3();
+    }
+
+    /**
+     * Read all switch states in one round trip
+     */
+    private ElementQueryBatch.Result readSwitchStates() {
+        return batch()
+                .checked(switch1)
+                .checked(switch2)
+                .checked(switch3)
+                .resolveWhenPresent(5);
     }
 
     public boolean isSwitch1On() {
@@ -112,22 +126,19 @@ public class SwitchesPage extends BasePage {
     public ListPage navigateToListTab() {
         LoggerManager.step("Navigating to List tab");
         click(listTab);
-        WaitHelper.sleep(1000);
-        return new ListPage(driver);
+        return transitionTo(new ListPage(driver), 1000);
     }
 
     public ButtonsPage navigateToButtonsTab() {
         LoggerManager.step("Navigating to Buttons tab");
         click(buttonsTab);
-        WaitHelper.sleep(1000);
-        return new ButtonsPage(driver);
+        return transitionTo(new ButtonsPage(driver), 1000);
     }
 
     public InputPage navigateToInputTab() {
         LoggerManager.step("Navigating to Input tab");
         click(inputTab);
-        WaitHelper.sleep(1000);
-        return new InputPage(driver);
+        return transitionTo(new InputPage(driver), 1000);
     }
 }
 
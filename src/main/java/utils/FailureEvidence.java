@@ -0,0 +1,207 @@
+package utils;
+
+import core.ConfigReader;
+import core.DriverFactory;
+import core.LoggerManager;
+import core.Platform;
+import io.appium.java_client.AppiumDriver;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.logging.LogEntry;
+import org.testng.ITestResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evidence of one test failure: screenshot, page source and device logs
+ * Captured once per failed test and cached on the ITestResult, so BaseTest and
+ * AllureListener share the same bytes whichever runs first. Each sink writes at most once.
+ * Only the session already bound to the current thread is used - a driver is never created.
+ */
+public class FailureEvidence {
+
+    private static final String RESULT_ATTRIBUTE = "failureEvidence";
+    // Set once the server refuses mobile: shell (needs --allow-insecure adb_shell)
+    private static volatile boolean logcatTailUnavailable;
+
+    private final String testName;
+    private final Throwable error;
+    private byte[] screenshot;
+    private String pageSource;
+    private String deviceLogs;
+
+    private boolean savedToFiles;
+    private boolean attachedToAllure;
+
+    private FailureEvidence(String testName, Throwable error) {
+        this.testName = testName;
+        this.error = error;
+    }
+
+    /**
+     * Evidence for the failed result, capturing it on the first call
+     */
+    public static FailureEvidence collect(ITestResult result) {
+        synchronized (result) {
+            Object cached = result.getAttribute(RESULT_ATTRIBUTE);
+            if (cached instanceof FailureEvidence) {
+                return (FailureEvidence) cached;
+            }
+            FailureEvidence evidence = new FailureEvidence(result.getMethod().getMethodName(), result.getThrowable());
+            evidence.capture(DriverFactory.peekDriver());
+            result.setAttribute(RESULT_ATTRIBUTE, evidence);
+            return evidence;
+        }
+    }
+
+    private void capture(AppiumDriver driver) {
+        if (driver == null) {
+            LoggerManager.warn("No active session for " + testName + " - failure evidence limited to the error");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            LoggerManager.error("Failed to capture screenshot: " + e.getMessage());
+        }
+        try {
+            pageSource = driver.getPageSource();
+        } catch (Exception e) {
+            LoggerManager.error("Failed to capture page source: " + e.getMessage());
+        }
+        deviceLogs = captureDeviceLogs(driver, ConfigReader.getInstance().getFailureDeviceLogLines());
+        LoggerManager.info("Failure evidence captured for " + testName + " in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Last lines of logcat (Android) or syslog (iOS), or null when disabled or unavailable
+     * On Android only the tail is transferred (logcat -t N). The log endpoint returns every
+     * entry since the session last read it, which can be a long backlog on a reused session.
+     */
+    private static String captureDeviceLogs(AppiumDriver driver, int maxLines) {
+        if (maxLines <= 0) {
+            return null;
+        }
+        if (hasLogcatTail()) {
+            try {
+                Object tail = driver.executeScript("mobile: shell", Map.of(
+                        "command", "logcat", "args", List.of("-d", "-t", String.valueOf(maxLines))));
+                return tail == null ? null : tail.toString().stripTrailing();
+            } catch (Exception e) {
+                logcatTailUnavailable = true;
+                LoggerManager.info("Bounded logcat tail unavailable, using the log endpoint: {}", e.getMessage());
+            }
+        }
+        String logType = DriverFactory.getCurrentPlatform() == Platform.IOS ? "syslog" : "logcat";
+        try {
+            Deque<String> lines = new ArrayDeque<>(maxLines);
+            for (LogEntry entry : driver.manage().logs().get(logType)) {
+                if (lines.size() == maxLines) {
+                    lines.removeFirst();
+                }
+                lines.addLast(entry.toString());
+            }
+            return String.join(System.lineSeparator(), lines);
+        } catch (Exception e) {
+            LoggerManager.debug("Device logs unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read and drop the device log entries the session has buffered so far, so a failure
+     * later in the test only transfers this test's entries
+     * Needed for sessions that outlive a test when the bounded logcat tail is unavailable.
+     */
+    public static void discardDeviceLogBacklog(AppiumDriver driver) {
+        if (ConfigReader.getInstance().getFailureDeviceLogLines() <= 0 || hasLogcatTail()) {
+            return;
+        }
+        String logType = DriverFactory.getCurrentPlatform() == Platform.IOS ? "syslog" : "logcat";
+        try {
+            driver.manage().logs().get(logType);
+        } catch (Exception e) {
+            LoggerManager.debug("Device log backlog not discarded: {}", e.getMessage());
+        }
+    }
+
+    private static boolean hasLogcatTail() {
+        return DriverFactory.getCurrentPlatform() != Platform.IOS && !logcatTailUnavailable;
+    }
+
+    /**
+     * Write the evidence to the ScreenshotStore (FAILED_test_timestamp_suffix.*)
+     */
+    public synchronized void saveToFiles() {
+        if (savedToFiles) {
+            return;
+        }
+        savedToFiles = true;
+        Path screenshotPath = ScreenshotStore.newPath("FAILED_" + testName, ".png");
+        String baseName = screenshotPath.getFileName().toString().replaceFirst("\\.png$", "");
+        try {
+            if (screenshot != null) {
+                store(screenshotPath, screenshot);
+                LoggerManager.info("📸 Screenshot saved: " + screenshotPath);
+            }
+            if (pageSource != null) {
+                store(screenshotPath.resolveSibling(baseName + ".xml"), pageSource.getBytes(StandardCharsets.UTF_8));
+            }
+            if (deviceLogs != null) {
+                store(screenshotPath.resolveSibling(baseName + ".device.log"), deviceLogs.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            LoggerManager.error("Failed to save failure evidence: " + e.getMessage());
+        }
+    }
+
+    private void store(Path path, byte[] content) throws IOException {
+        Files.write(path, content);
+        ScreenshotStore.record(path, content.length, testName);
+    }
+
+    /**
+     * Attach the evidence to the current Allure test
+     */
+    public synchronized void attachToAllure() {
+        if (attachedToAllure) {
+            return;
+        }
+        attachedToAllure = true;
+        if (screenshot != null) {
+            Allure.addAttachment("Failure Screenshot", "image/png", new ByteArrayInputStream(screenshot), ".png");
+        }
+        if (pageSource != null) {
+            Allure.addAttachment("Page Source on Failure", "text/xml", pageSource, ".xml");
+        }
+        if (deviceLogs != null) {
+            Allure.addAttachment("Device Logs", "text/plain", deviceLogs, ".log");
+        }
+        if (error != null) {
+            Allure.addAttachment("Error Details", "text/plain", error.toString(), ".txt");
+        }
+    }
+
+    public byte[] getScreenshot() {
+        return screenshot;
+    }
+
+    public String getPageSource() {
+        return pageSource;
+    }
+
+    public String getDeviceLogs() {
+        return deviceLogs;
+    }
+}
@@ -3,17 +3,38 @@ package utils;
 import core.LoggerManager;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility class for managing log files
  * Best Practice: Auto cleanup old logs, archive logs, etc.
+ * Finished logs are gzip-compressed on a background thread, streaming through a
+ * fixed buffer so no log file is ever loaded into memory.
  */
 public class LogUtils {
 
     private static final String LOG_DIR = "logs";
     private static final int MAX_LOG_FILES = 10; // Keep only last 10 log files
+    private static final String ARCHIVE_SUFFIX = ".gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+
+    // Single background thread: archives and retention run in submission order
+    private static ExecutorService archiver;
 
     /**
      * Clean up old log files, keeping only the most recent ones
@@ -80,19 +101,189 @@ public class LogUtils {
     }
 
     /**
-     * Archive old logs to a zip file
+     * Get all compressed log archives sorted by date (newest first)
+     */
+    public static File[] getArchivedLogFiles() {
+        File[] archives = new File(LOG_DIR).listFiles((dir, name) -> name.endsWith(".log" + ARCHIVE_SUFFIX));
+        if (archives == null) {
+            return new File[0];
+        }
+        Arrays.sort(archives, Comparator.comparingLong(File::lastModified).reversed());
+        return archives;
+    }
+
+    /**
+     * Compress every finished log (all except the active session log) in the background
+     * @return number of logs queued for compression
+     */
+    public static int archiveLogs() {
+        deleteIncompleteArchives();
+        int queued = 0;
+        for (File file : getLogFiles()) {
+            if (!isActiveLog(file)) {
+                archiveAsync(file);
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Queue one finished log for gzip compression on the archiver thread
+     * The original is deleted once its archive is complete.
+     */
+    public static synchronized Future<File> archiveAsync(File logFile) {
+        return getArchiver().submit(() -> gzip(logFile));
+    }
+
+    /**
+     * Apply retention in the background, after any queued archiving
+     * @param maxTotalBytes Delete the oldest logs until the total is below this, 0 for no limit
+     * @param maxAgeDays Delete logs older than this, 0 for no limit
+     */
+    public static synchronized Future<?> applyRetentionAsync(long maxTotalBytes, int maxAgeDays) {
+        return getArchiver().submit(() -> applyRetention(maxTotalBytes, maxAgeDays));
+    }
+
+    /**
+     * Wait for queued archiving and retention to finish
+     */
+    public static void awaitArchiving(long timeoutMillis) {
+        Future<?> marker;
+        synchronized (LogUtils.class) {
+            if (archiver == null) {
+                return;
+            }
+            marker = archiver.submit(() -> { });
+        }
+        try {
+            marker.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            LoggerManager.warn("Log archiving did not finish within " + timeoutMillis + " ms");
+        }
+    }
+
+    private static ExecutorService getArchiver() {
+        if (archiver == null) {
+            archiver = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "log-archiver");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return archiver;
+    }
+
+    /**
+     * Stream the log through gzip into a temporary file, then swap it in
+     * A run killed mid-compression leaves only a .tmp file and the intact original.
+     */
+    private static File gzip(File logFile) throws IOException {
+        File archive = new File(logFile.getPath() + ARCHIVE_SUFFIX);
+        File temp = new File(archive.getPath() + TEMP_SUFFIX);
+        long originalBytes = logFile.length();
+        long lastModified = logFile.lastModified();
+
+        try (InputStream in = Files.newInputStream(logFile.toPath());
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp.toPath()), STREAM_BUFFER_BYTES)) {
+            byte[] buffer = new byte[STREAM_BUFFER_BYTES];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        Files.move(temp.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        archive.setLastModified(lastModified);
+        Files.delete(logFile.toPath());
+
+        LoggerManager.info(String.format("Archived %s: %s -> %s (%.1fx)", logFile.getName(),
+                formatFileSize(originalBytes), formatFileSize(archive.length()),
+                compressionRatio(originalBytes, archive.length())));
+        return archive;
+    }
+
+    private static void deleteIncompleteArchives() {
+        File[] temps = new File(LOG_DIR).listFiles((dir, name) -> name.endsWith(ARCHIVE_SUFFIX + TEMP_SUFFIX));
+        if (temps != null) {
+            for (File temp : temps) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Delete logs and archives by age, then oldest first until within the byte budget
+     * The active session log is never deleted.
      */
-    public static void archiveLogs() {
-        LoggerManager.info("Log archiving not yet implemented");
+    public static void applyRetention(long maxTotalBytes, int maxAgeDays) {
+        List<File> files = new ArrayList<>(Arrays.asList(getLogFiles()));
+        files.addAll(Arrays.asList(getArchivedLogFiles()));
+        files.removeIf(LogUtils::isActiveLog);
+        files.sort(Comparator.comparingLong(File::lastModified)); // Oldest first
+
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAgeDays);
+        long total = getTotalLogSize();
+        int deletedCount = 0;
+        long deletedBytes = 0;
+        for (File file : files) {
+            boolean expired = maxAgeDays > 0 && file.lastModified() < cutoff;
+            boolean overBudget = maxTotalBytes > 0 && total > maxTotalBytes;
+            if (!expired && !overBudget) {
+                continue;
+            }
+            long size = file.length();
+            if (file.delete()) {
+                total -= size;
+                deletedBytes += size;
+                deletedCount++;
+            }
+        }
+
+        if (deletedCount > 0) {
+            LoggerManager.info("Log retention removed " + deletedCount + " files ("
+                    + formatFileSize(deletedBytes) + "), " + formatFileSize(total) + " kept");
+        }
+    }
+
+    private static boolean isActiveLog(File file) {
+        String active = LoggerManager.getCurrentLogFile();
+        return active != null && file.getAbsoluteFile().equals(new File(active).getAbsoluteFile());
+    }
+
+    /**
+     * Uncompressed size recorded in the gzip trailer (ISIZE, modulo 4 GiB)
+     * Reads only the last four bytes of the archive.
+     */
+    public static long getUncompressedSize(File archive) {
+        try (RandomAccessFile file = new RandomAccessFile(archive, "r")) {
+            if (file.length() < 4) {
+                return -1;
+            }
+            file.seek(file.length() - 4);
+            byte[] trailer = new byte[4];
+            file.readFully(trailer);
+            return (trailer[0] & 0xFFL)
+                    | (trailer[1] & 0xFFL) << 8
+                    | (trailer[2] & 0xFFL) << 16
+                    | (trailer[3] & 0xFFL) << 24;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static double compressionRatio(long originalBytes, long compressedBytes) {
+        return compressedBytes <= 0 ? 0.0 : (double) originalBytes / compressedBytes;
     }
 
     /**
-     * Get total size of all log files
+     * Get total size of all log files and archives
      */
     public static long getTotalLogSize() {
-        File[] logFiles = getLogFiles();
         long totalSize = 0;
-        for (File file : logFiles) {
+        for (File file : getLogFiles()) {
+            totalSize += file.length();
+        }
+        for (File file : getArchivedLogFiles()) {
             totalSize += file.length();
         }
         return totalSize;
@@ -113,12 +304,13 @@ public class LogUtils {
      */
     public static void printLogSummary() {
         File[] logFiles = getLogFiles();
+        File[] archives = getArchivedLogFiles();
         long totalSize = getTotalLogSize();
 
         System.out.println("\n" + "=".repeat(80));
         System.out.println("LOG FILES SUMMARY");
         System.out.println("=".repeat(80));
-        System.out.println("Total log files: " + logFiles.length);
+        System.out.println("Total log files: " + logFiles.length + " (+ " + archives.length + " archived)");
         System.out.println("Total size: " + formatFileSize(totalSize));
         System.out.println("-".repeat(80));
 
@@ -133,6 +325,32 @@ public class LogUtils {
                     formatFileSize(file.length()));
             }
         }
+
+        if (archives.length > 0) {
+            long compressedTotal = 0;
+            long originalTotal = 0;
+            for (File archive : archives) {
+                long original = getUncompressedSize(archive);
+                if (original >= 0) {
+                    compressedTotal += archive.length();
+                    originalTotal += original;
+                }
+            }
+            System.out.println("-".repeat(80));
+            System.out.printf("Archived logs: %d (%s compressed from %s, %.1fx)%n", archives.length,
+                    formatFileSize(compressedTotal), formatFileSize(originalTotal),
+                    compressionRatio(originalTotal, compressedTotal));
+            int count = Math.min(5, archives.length);
+            for (int i = 0; i < count; i++) {
+                File archive = archives[i];
+                long original = getUncompressedSize(archive);
+                System.out.printf("  %d. %s (%s, %.1fx)%n",
+                    i + 1,
+                    archive.getName(),
+                    formatFileSize(archive.length()),
+                    compressionRatio(original, archive.length()));
+            }
+        }
         System.out.println("=".repeat(80) + "\n");
     }
 }
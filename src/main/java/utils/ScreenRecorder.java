@@ -0,0 +1,200 @@
+package utils;
+
+import core.ConfigReader;
+import core.DriverFactory;
+import core.LoggerManager;
+import core.Platform;
+import core.TimedCommandExecutor;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidStartScreenRecordingOptions;
+import io.appium.java_client.ios.IOSStartScreenRecordingOptions;
+import io.appium.java_client.screenrecording.CanRecordScreen;
+import io.qameta.allure.Allure;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolling screen recording of one test, kept only when the test fails
+ * The driver records in segments: before each driver command of the test thread, a segment
+ * older than the window is stopped and a new one started, keeping just the previous segment
+ * in memory. On failure the segments covering the last window are saved and attached to
+ * Allure; on success they are dropped without touching the disk.
+ * The kept video is shorter than two windows plus the longest pause between two driver
+ * commands (a segment that sees no command stops at SEGMENT_LIMIT).
+ */
+public class ScreenRecorder {
+
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final boolean ENABLED = config.getRecordingEnabled();
+    private static final long WINDOW_MILLIS = config.getRecordingWindowSeconds() * 1000L;
+    // Upper bound for one segment when no command rolls it (Appium default is 3 minutes)
+    private static final Duration SEGMENT_LIMIT = Duration.ofMinutes(30);
+
+    private final AppiumDriver driver;
+    private boolean recording;
+    private long segmentStart;
+    private byte[] previousSegment;
+    private long previousSegmentMillis;
+
+    // Metrics
+    private static final LongAdder recordings = new LongAdder();
+    private static final LongAdder rolls = new LongAdder();
+    private static final LongAdder kept = new LongAdder();
+    private static final LongAdder keptBytes = new LongAdder();
+    private static final LongAdder discardedBytes = new LongAdder();
+
+    public ScreenRecorder(AppiumDriver driver) {
+        this.driver = driver;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Start recording; a failure only disables recording for this test
+     */
+    public void start() {
+        if (!(driver instanceof CanRecordScreen)) {
+            LoggerManager.warn("Driver cannot record the screen - recording disabled for this test");
+            return;
+        }
+        try {
+            startSegment();
+            recording = true;
+            recordings.increment();
+            TimedCommandExecutor.setBeforeCommand(this::rollIfDue);
+        } catch (Exception e) {
+            LoggerManager.warn("Screen recording not started: " + e.getMessage());
+        }
+    }
+
+    private void startSegment() {
+        CanRecordScreen recorder = (CanRecordScreen) driver;
+        if (DriverFactory.getCurrentPlatform() == Platform.IOS) {
+            recorder.startRecordingScreen(IOSStartScreenRecordingOptions.startScreenRecordingOptions()
+                    .withTimeLimit(SEGMENT_LIMIT)
+                    .enableForcedRestart());
+        } else {
+            recorder.startRecordingScreen(AndroidStartScreenRecordingOptions.startScreenRecordingOptions()
+                    .withTimeLimit(SEGMENT_LIMIT)
+                    .enableForcedRestart());
+        }
+        segmentStart = System.currentTimeMillis();
+    }
+
+    private byte[] stopSegment() {
+        String video = ((CanRecordScreen) driver).stopRecordingScreen();
+        return video == null || video.isEmpty() ? new byte[0] : Base64.getMimeDecoder().decode(video);
+    }
+
+    /**
+     * Mark a test step in the log with its offset in the current segment
+     */
+    public void checkpoint(String stepName) {
+        if (recording) {
+            LoggerManager.debug("Step {} at {} s of the recording", stepName,
+                    (System.currentTimeMillis() - segmentStart) / 1000);
+        }
+    }
+
+    /**
+     * Roll to a new segment once the current one is longer than the window
+     */
+    private void rollIfDue() {
+        long segmentMillis = System.currentTimeMillis() - segmentStart;
+        if (!recording || segmentMillis < WINDOW_MILLIS) {
+            return;
+        }
+        try {
+            byte[] finished = stopSegment();
+            if (previousSegment != null) {
+                discardedBytes.add(previousSegment.length);
+            }
+            previousSegment = finished;
+            previousSegmentMillis = segmentMillis;
+            startSegment();
+            rolls.increment();
+        } catch (Exception e) {
+            LoggerManager.warn("Screen recording stopped: " + e.getMessage());
+            recording = false;
+        }
+    }
+
+    /**
+     * Stop recording; when keep is set, save and attach the segments covering the last window
+     */
+    public void finish(String testName, boolean keep) {
+        TimedCommandExecutor.setBeforeCommand(null);
+        if (!recording) {
+            return;
+        }
+        recording = false;
+        long segmentMillis = System.currentTimeMillis() - segmentStart;
+        byte[] current;
+        try {
+            current = stopSegment();
+        } catch (Exception e) {
+            LoggerManager.warn("Failed to stop screen recording: " + e.getMessage());
+            return;
+        }
+
+        List<byte[]> segments = new ArrayList<>(2);
+        if (previousSegment != null && segmentMillis < WINDOW_MILLIS) {
+            segments.add(previousSegment);
+        } else if (previousSegment != null) {
+            discardedBytes.add(previousSegment.length);
+        }
+        segments.add(current);
+        previousSegment = null;
+
+        if (!keep) {
+            segments.forEach(segment -> discardedBytes.add(segment.length));
+            return;
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            byte[] segment = segments.get(i);
+            if (segment.length == 0) {
+                continue;
+            }
+            String name = segments.size() > 1 && i == 0 ? "Screen Recording (previous segment)" : "Screen Recording";
+            try {
+                Path path = ScreenshotStore.newPath("RECORDING_" + testName, ".mp4");
+                Files.write(path, segment);
+                ScreenshotStore.record(path, segment.length, testName);
+                LoggerManager.info("🎬 Screen recording saved: " + path);
+            } catch (IOException e) {
+                LoggerManager.error("Failed to save screen recording: " + e.getMessage());
+            }
+            Allure.addAttachment(name, "video/mp4", new ByteArrayInputStream(segment), ".mp4");
+            kept.increment();
+            keptBytes.add(segment.length);
+        }
+        LoggerManager.info("Kept the last " + ((segments.size() > 1 ? previousSegmentMillis : 0) + segmentMillis) / 1000
+                + " s of screen recording");
+    }
+
+    public static String getSummary() {
+        return "Screen recording - tests: " + recordings.sum() + ", segment rolls: " + rolls.sum()
+                + ", kept: " + kept.sum() + " (" + LogUtils.formatFileSize(keptBytes.sum()) + ")"
+                + ", discarded: " + LogUtils.formatFileSize(discardedBytes.sum());
+    }
+
+    public static void logSummary() {
+        if (recordings.sum() > 0) {
+            LoggerManager.info(getSummary());
+        }
+    }
+}
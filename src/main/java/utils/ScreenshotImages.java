@@ -0,0 +1,152 @@
+package utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Image operations for the screenshot pipeline: downscaling, JPEG/PNG encoding
+ * and a perceptual signature (difference hash plus brightness grid) for spotting
+ * visually identical frames
+ */
+public final class ScreenshotImages {
+
+    private static final int GRID_SIZE = 32;
+
+    private ScreenshotImages() {
+        // Utility class
+    }
+
+    public static BufferedImage decode(byte[] imageBytes) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+        if (image == null) {
+            throw new IOException("Unsupported screenshot format");
+        }
+        return image;
+    }
+
+    /**
+     * Scale down to the target width, keeping the aspect ratio
+     * @param targetWidth Maximum width, 0 to keep the original size
+     */
+    public static BufferedImage downscale(BufferedImage image, int targetWidth) {
+        if (targetWidth <= 0 || image.getWidth() <= targetWidth) {
+            return image;
+        }
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Encode as "jpg" (with the given quality, 0-1) or "png"
+     */
+    public static byte[] encode(BufferedImage image, String format, float jpegQuality) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        if (!isJpeg(format)) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+
+        // JPEG has no alpha channel
+        BufferedImage rgb = image;
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, null);
+            } finally {
+                graphics.dispose();
+            }
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    public static boolean isJpeg(String format) {
+        return "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format);
+    }
+
+    /**
+     * Perceptual signature of a frame: a 32x32 greyscale grid and its difference hash
+     */
+    public static Signature signature(BufferedImage image) {
+        BufferedImage small = new BufferedImage(GRID_SIZE + 1, GRID_SIZE, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = small.createGraphics();
+        try {
+            // Area averaging lets every pixel count, not just the sampled ones
+            graphics.drawImage(image.getScaledInstance(GRID_SIZE + 1, GRID_SIZE, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        int[] cells = small.getRaster().getPixels(0, 0, GRID_SIZE + 1, GRID_SIZE, (int[]) null);
+        long[] hash = new long[GRID_SIZE * GRID_SIZE / 64];
+        int bit = 0;
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++, bit++) {
+                int row = y * (GRID_SIZE + 1);
+                if (cells[row + x] > cells[row + x + 1]) {
+                    hash[bit / 64] |= 1L << (bit % 64);
+                }
+            }
+        }
+        return new Signature(hash, cells);
+    }
+
+    /**
+     * Frames look the same when their difference hashes are within maxHashDistance bits
+     * and no grid cell changed brightness by more than maxCellDelta
+     * The dHash alone misses a control changing colour without changing its outline
+     * (e.g. a switch toggling), which the cell check catches.
+     */
+    public static boolean looksSame(Signature first, Signature second, int maxHashDistance, int maxCellDelta) {
+        int distance = 0;
+        for (int i = 0; i < first.hash.length; i++) {
+            distance += Long.bitCount(first.hash[i] ^ second.hash[i]);
+        }
+        if (distance > maxHashDistance) {
+            return false;
+        }
+        for (int i = 0; i < first.cells.length; i++) {
+            if (Math.abs(first.cells[i] - second.cells[i]) > maxCellDelta) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static final class Signature {
+        private final long[] hash;
+        private final int[] cells;
+
+        Signature(long[] hash, int[] cells) {
+            this.hash = hash;
+            this.cells = cells;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package utils;
+
+import core.ConfigReader;
+import core.LoggerManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded background executor for screenshot encoding, file writes and Allure attachments
+ * The test thread only grabs the bytes; everything else runs here. When the queue is
+ * full the submitting thread runs the task itself (backpressure), so memory stays bounded.
+ * Each test thread flushes its own pending work at test end.
+ */
+public class ScreenshotPipeline {
+
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final boolean enabled = config.getScreenshotAsync();
+
+    private static ThreadPoolExecutor executor;
+    private static final ThreadLocal<List<Future<?>>> pending = ThreadLocal.withInitial(ArrayList::new);
+
+    // Metrics
+    private static final LongAdder submitted = new LongAdder();
+    private static final LongAdder callerRuns = new LongAdder();
+    private static final LongAdder failures = new LongAdder();
+    private static final AtomicLong workNanos = new AtomicLong();
+    private static final AtomicLong flushWaitNanos = new AtomicLong();
+
+    private ScreenshotPipeline() {
+        // Utility class
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, config.getScreenshotAsyncThreads());
+            AtomicInteger counter = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, config.getScreenshotAsyncQueue())),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "screenshot-writer-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (task, pool) -> {
+                        callerRuns.increment();
+                        task.run();
+                    });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Run the task in the background, or inline when the pipeline is disabled or saturated
+     */
+    public static Future<?> submit(Runnable task) {
+        submitted.increment();
+        FutureTask<?> future = new FutureTask<>(() -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                failures.increment();
+                LoggerManager.error("Screenshot task failed: " + e.getMessage());
+            } finally {
+                workNanos.addAndGet(System.nanoTime() - start);
+            }
+        }, null);
+
+        if (enabled) {
+            getExecutor().execute(future);
+        } else {
+            future.run();
+        }
+        if (!future.isDone()) {
+            pending.get().add(future);
+        }
+        return future;
+    }
+
+    /**
+     * Wait for screenshot work submitted by the current thread
+     */
+    public static void flush(long timeoutMillis) {
+        List<Future<?>> futures = pending.get();
+        if (futures.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                LoggerManager.warn("Screenshot work not finished at test end: " + e.getMessage());
+                break;
+            }
+        }
+        futures.clear();
+        flushWaitNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    /**
+     * Finish all queued work and stop the background threads
+     */
+    public static synchronized void shutdown(long timeoutMillis) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                LoggerManager.warn("Screenshot pipeline did not finish within " + timeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    public static String getSummary() {
+        return String.format("Screenshot pipeline - tasks: %d, background work: %d ms, run on caller (queue full): %d, "
+                        + "test-end flush wait: %d ms, failures: %d",
+                submitted.sum(), TimeUnit.NANOSECONDS.toMillis(workNanos.get()), callerRuns.sum(),
+                TimeUnit.NANOSECONDS.toMillis(flushWaitNanos.get()), failures.sum());
+    }
+
+    public static void logSummary() {
+        if (submitted.sum() > 0) {
+            LoggerManager.info(getSummary());
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package utils;
+
+import core.ConfigReader;
+import core.LoggerManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Managed screenshots/ directory
+ * Names are unique across threads (millisecond timestamp, thread id and a sequence number).
+ * Every stored file is appended to screenshots/index.tsv (created millis, bytes, thread,
+ * test, file, linked_to), so report tooling can find captures without listing the directory.
+ * A background thread evicts the least recently used files once the store exceeds its
+ * quota, and files older than the maximum age, then compacts the index.
+ * Hard links to a stored file (de-duplicated frames) share its bytes: the bytes are charged
+ * once per link group and only freed when the group's last name is deleted.
+ */
+public class ScreenshotStore {
+
+    private static final String INDEX_FILE = "index.tsv";
+    private static final String INDEX_HEADER = "created_millis\tbytes\tthread\ttest\tfile\tlinked_to";
+    private static final DateTimeFormatter NAME_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static Path dir = Paths.get("screenshots");
+    private static long maxBytes = config.getScreenshotStoreMaxMb() * 1024 * 1024;
+    private static long maxAgeMillis = TimeUnit.HOURS.toMillis(config.getScreenshotStoreMaxAgeHours());
+    private static volatile boolean dirCreated;
+
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final AtomicBoolean evictionQueued = new AtomicBoolean();
+    private static final ExecutorService evictor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // File name -> entry, in access order (eldest = least recently used)
+    private static final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Original file name -> names sharing its bytes (the original and its hard links)
+    private static final Map<String, LinkGroup> groups = new HashMap<>();
+    private static long totalBytes;
+    private static BufferedWriter indexWriter;
+    private static boolean loaded;
+
+    // Metrics
+    private static long evictedFiles;
+    private static long evictedBytes;
+
+    private ScreenshotStore() {
+        // Utility class
+    }
+
+    /**
+     * Point the store at another directory with its own limits, dropping the in-memory state
+     * as a restart would; the index there is loaded on next use (unit tests)
+     */
+    static synchronized void useDirectory(Path directory, long maxBytesLimit, long maxAgeLimitMillis) {
+        closeIndexWriter();
+        entries.clear();
+        groups.clear();
+        totalBytes = 0;
+        loaded = false;
+        evictedFiles = 0;
+        evictedBytes = 0;
+        dir = directory;
+        dirCreated = false;
+        maxBytes = maxBytesLimit;
+        maxAgeMillis = maxAgeLimitMillis;
+    }
+
+    /**
+     * Collision-free path for a new capture, e.g. screenshots/Login_20240101_120000_123_t17_42.jpg
+     * @param extension File extension including the dot
+     */
+    public static Path newPath(String name, String extension) {
+        String safeName = name.replaceAll("[^A-Za-z0-9._-]+", "_");
+        String fileName = safeName + "_" + LocalDateTime.now().format(NAME_TIMESTAMP)
+                + "_t" + Thread.currentThread().getId() + "_" + sequence.incrementAndGet() + extension;
+        return directory().resolve(fileName).toAbsolutePath();
+    }
+
+    // Created on first use, so loading the class has no side effects; racing calls are harmless
+    private static Path directory() {
+        if (!dirCreated) {
+            try {
+                Files.createDirectories(dir);
+                dirCreated = true;
+            } catch (IOException e) {
+                LoggerManager.error("Failed to create screenshots directory: " + e.getMessage());
+            }
+        }
+        return dir;
+    }
+
+    /**
+     * Register a written file; may queue background eviction
+     * @param bytes Size of the file
+     * @param test Test the capture belongs to, may be null
+     */
+    public static void record(Path file, long bytes, String test) {
+        add(file, bytes, test, null);
+    }
+
+    /**
+     * Register a hard link to a stored file; it shares the original's bytes, which stay
+     * charged until every name of the file is evicted. Also marks the original as used.
+     */
+    public static void recordLink(Path link, Path original, String test) {
+        add(link, -1, test, original.getFileName().toString());
+    }
+
+    private static void add(Path file, long bytes, String test, String linkedTo) {
+        String fileName = file.getFileName().toString();
+        long now = System.currentTimeMillis();
+        synchronized (ScreenshotStore.class) {
+            ensureLoaded();
+            if (linkedTo != null) {
+                Entry original = entries.get(linkedTo);
+                if (original != null) {
+                    // Linking to a link joins the same group
+                    original.lastAccess = now;
+                    bytes = original.bytes;
+                    linkedTo = original.group();
+                } else {
+                    bytes = sizeOf(file);
+                    if (!groups.containsKey(linkedTo)) {
+                        // The original is no longer tracked, so the link alone holds the bytes
+                        linkedTo = null;
+                    }
+                }
+            }
+            Entry entry = new Entry(fileName, now, bytes, Thread.currentThread().getName(),
+                    test == null ? "-" : test, linkedTo);
+            Entry replaced = entries.remove(fileName);
+            if (replaced != null) {
+                removeFromGroup(replaced);
+            }
+            entries.put(fileName, entry);
+            addToGroup(entry);
+            appendToIndex(entry);
+        }
+        if (isOverQuota() && evictionQueued.compareAndSet(false, true)) {
+            evictor.submit(ScreenshotStore::evict);
+        }
+    }
+
+    private static void addToGroup(Entry entry) {
+        LinkGroup group = groups.get(entry.group());
+        if (group == null) {
+            group = new LinkGroup(entry.bytes);
+            groups.put(entry.group(), group);
+            totalBytes += entry.bytes;
+        }
+        group.names++;
+    }
+
+    /**
+     * @return bytes freed - non-zero only when the last name of the file is removed
+     */
+    private static long removeFromGroup(Entry entry) {
+        LinkGroup group = groups.get(entry.group());
+        if (group == null || --group.names > 0) {
+            return 0;
+        }
+        groups.remove(entry.group());
+        totalBytes -= group.bytes;
+        return group.bytes;
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public static synchronized long getTotalBytes() {
+        ensureLoaded();
+        return totalBytes;
+    }
+
+    private static synchronized boolean isOverQuota() {
+        return maxBytes > 0 && totalBytes > maxBytes;
+    }
+
+    /**
+     * Delete files older than the maximum age, then least recently used files until
+     * the store is within its quota, and rewrite the index without them
+     */
+    public static void evict() {
+        evictionQueued.set(false);
+        long cutoff = maxAgeMillis > 0 ? System.currentTimeMillis() - maxAgeMillis : Long.MIN_VALUE;
+        int removed = 0;
+        long removedBytes = 0;
+        synchronized (ScreenshotStore.class) {
+            ensureLoaded();
+            Iterator<Entry> eldestFirst = entries.values().iterator();
+            while (eldestFirst.hasNext()) {
+                Entry entry = eldestFirst.next();
+                boolean expired = entry.lastAccess < cutoff;
+                boolean overQuota = maxBytes > 0 && totalBytes > maxBytes;
+                if (!expired && !overQuota) {
+                    // Access order: later entries were used more recently
+                    if (maxAgeMillis <= 0) {
+                        break;
+                    }
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(dir.resolve(entry.fileName));
+                } catch (IOException e) {
+                    LoggerManager.debug("Could not evict screenshot {}: {}", entry.fileName, e.getMessage());
+                    continue;
+                }
+                eldestFirst.remove();
+                removedBytes += removeFromGroup(entry);
+                removed++;
+            }
+            if (removed > 0) {
+                evictedFiles += removed;
+                evictedBytes += removedBytes;
+                compactIndex();
+            }
+        }
+        if (removed > 0) {
+            LoggerManager.info("Screenshot store evicted " + removed + " files (" + LogUtils.formatFileSize(removedBytes)
+                    + "), " + LogUtils.formatFileSize(getTotalBytes()) + " kept");
+        }
+    }
+
+    /**
+     * Load the index from a previous run; rebuilt from the directory only when it is missing
+     */
+    private static void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Path index = directory().resolve(INDEX_FILE);
+        try {
+            if (Files.exists(index)) {
+                try (BufferedReader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        Entry entry = Entry.parse(line);
+                        if (entry != null) {
+                            Entry replaced = entries.remove(entry.fileName);
+                            if (replaced != null) {
+                                removeFromGroup(replaced);
+                            }
+                            entries.put(entry.fileName, entry);
+                            addToGroup(entry);
+                        }
+                    }
+                }
+            } else {
+                rebuildIndex();
+            }
+        } catch (IOException e) {
+            LoggerManager.warn("Could not load screenshot index: " + e.getMessage());
+        }
+        // Apply age and quota limits to what earlier runs left behind
+        if (evictionQueued.compareAndSet(false, true)) {
+            evictor.submit(ScreenshotStore::evict);
+        }
+    }
+
+    private static void rebuildIndex() throws IOException {
+        // Hard links share a file key (device and inode); the first name seen owns the bytes
+        Map<Object, String> originals = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().startsWith(INDEX_FILE) && Files.isRegularFile(file)) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    String fileName = file.getFileName().toString();
+                    String original = attributes.fileKey() == null ? null
+                            : originals.putIfAbsent(attributes.fileKey(), fileName);
+                    Entry entry = new Entry(fileName, attributes.lastModifiedTime().toMillis(),
+                            attributes.size(), "-", "-", original);
+                    entries.put(entry.fileName, entry);
+                    addToGroup(entry);
+                }
+            }
+        }
+        compactIndex();
+    }
+
+    private static void appendToIndex(Entry entry) {
+        try {
+            if (indexWriter == null) {
+                Path index = dir.resolve(INDEX_FILE);
+                boolean created = !Files.exists(index);
+                indexWriter = Files.newBufferedWriter(index, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (created) {
+                    indexWriter.write(INDEX_HEADER);
+                    indexWriter.newLine();
+                }
+            }
+            indexWriter.write(entry.toLine());
+            indexWriter.newLine();
+            indexWriter.flush();
+        } catch (IOException e) {
+            LoggerManager.warn("Could not update screenshot index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrite the index with the current entries (temporary file, then atomic move)
+     */
+    private static void compactIndex() {
+        Path temp = dir.resolve(INDEX_FILE + ".tmp");
+        try {
+            closeIndexWriter();
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(INDEX_HEADER);
+                writer.newLine();
+                for (Entry entry : entries.values()) {
+                    writer.write(entry.toLine());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, dir.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LoggerManager.warn("Could not compact screenshot index: " + e.getMessage());
+        }
+    }
+
+    private static void closeIndexWriter() {
+        if (indexWriter == null) {
+            return;
+        }
+        try {
+            indexWriter.close();
+        } catch (IOException e) {
+            LoggerManager.debug("Could not close screenshot index: {}", e.getMessage());
+        }
+        indexWriter = null;
+    }
+
+    /**
+     * Apply age and quota limits now and wait for it, e.g. at suite end
+     */
+    public static void evictNow(long timeoutMillis) {
+        try {
+            evictor.submit(ScreenshotStore::evict).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            LoggerManager.warn("Screenshot eviction did not finish: " + e.getMessage());
+        }
+    }
+
+    public static synchronized String getSummary() {
+        ensureLoaded();
+        return "Screenshot store - files: " + entries.size() + ", size: " + LogUtils.formatFileSize(totalBytes)
+                + (maxBytes > 0 ? " of " + LogUtils.formatFileSize(maxBytes) : "")
+                + ", evicted: " + evictedFiles + " (" + LogUtils.formatFileSize(evictedBytes) + ")";
+    }
+
+    public static void logSummary() {
+        LoggerManager.info(getSummary());
+    }
+
+    private static final class LinkGroup {
+        private final long bytes;
+        private int names;
+
+        LinkGroup(long bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * One stored file name; hard links carry the shared file's size and the name they link to
+     */
+    private static final class Entry {
+        private final String fileName;
+        private final long created;
+        private final long bytes;
+        private final String thread;
+        private final String test;
+        private final String linkedTo;
+        private long lastAccess;
+
+        Entry(String fileName, long created, long bytes, String thread, String test, String linkedTo) {
+            this.fileName = fileName;
+            this.created = created;
+            this.bytes = bytes;
+            this.thread = thread;
+            this.test = test;
+            this.linkedTo = linkedTo;
+            this.lastAccess = created;
+        }
+
+        String group() {
+            return linkedTo != null ? linkedTo : fileName;
+        }
+
+        String toLine() {
+            return created + "\t" + bytes + "\t" + clean(thread) + "\t" + clean(test) + "\t" + fileName
+                    + "\t" + (linkedTo != null ? linkedTo : "-");
+        }
+
+        static Entry parse(String line) {
+            String[] fields = line.split("\t", 6);
+            if (fields.length < 5 || !Character.isDigit(fields[0].isEmpty() ? 'x' : fields[0].charAt(0))) {
+                return null; // Header or damaged line
+            }
+            String linkedTo = fields.length > 5 && !"-".equals(fields[5]) ? fields[5] : null;
+            try {
+                return new Entry(fields[4], Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2], fields[3],
+                        linkedTo);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static String clean(String value) {
+            return value.replace('\t', ' ').replace('\n', ' ');
+        }
+    }
+}
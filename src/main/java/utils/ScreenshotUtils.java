@@ -1,64 +1,78 @@
 package utils;
 
+import core.ConfigReader;
 import core.LoggerManager;
 import io.appium.java_client.AppiumDriver;
+import io.qameta.allure.Allure;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 
-import java.io.File;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Utility class for taking screenshots
  * Supports both Android and iOS platforms
+ * Step captures only grab the bytes on the calling thread; downscaling, encoding,
+ * writing and Allure attachment happen on the ScreenshotPipeline. A step frame that
+ * looks the same as the thread's previous frame (perceptual signature) is hard-linked
+ * to it instead of being stored again. Files are named and tracked by ScreenshotStore.
  * Design Pattern: Utility
  */
 public class ScreenshotUtils {
 
     private final AppiumDriver driver;
-    private static final String SCREENSHOT_DIR = "screenshots";
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd_HHmmss");
+
+    // Step image pipeline settings
+    private static final ConfigReader config = ConfigReader.getInstance();
+    private static final int TARGET_WIDTH = config.getScreenshotWidth();
+    private static final String FORMAT = config.getScreenshotFormat();
+    private static final float JPEG_QUALITY = config.getScreenshotJpegQuality();
+    private static final boolean DEDUPE = config.getScreenshotDedupe();
+    private static final int DEDUPE_DISTANCE = config.getScreenshotDedupeDistance();
+    private static final int DEDUPE_TOLERANCE = config.getScreenshotDedupeTolerance();
+    private static final Path ALLURE_RESULTS = Paths.get(System.getProperty("allure.results.directory", "allure-results"));
+
+    // Last step frame of each thread; the next frame is compared against it
+    private static final ThreadLocal<CompletableFuture<Frame>> lastFrame = new ThreadLocal<>();
+
+    // Metrics
+    private static final LongAdder frames = new LongAdder();
+    private static final LongAdder duplicates = new LongAdder();
+    // Full-size PNG once per sink (file, Allure) - what was stored before the image pipeline
+    private static final LongAdder baselineBytes = new LongAdder();
+    private static final LongAdder storedBytes = new LongAdder();
+    private static final LongAdder processingNanos = new LongAdder();
 
     public ScreenshotUtils(AppiumDriver driver) {
         this.driver = driver;
-        createScreenshotDirectory();
-    }
-
-    /**
-     * Create screenshots directory if it doesn't exist
-     */
-    private void createScreenshotDirectory() {
-        File dir = new File(SCREENSHOT_DIR);
-        if (!dir.exists()) {
-            dir.mkdirs();
-            LoggerManager.info("Created screenshots directory: " + SCREENSHOT_DIR);
-        }
     }
 
     /**
      * Take screenshot with auto-generated timestamp name
      */
     public String takeScreenshot() {
-        String timestamp = dateFormat.format(new Date());
-        return takeScreenshot("screenshot_" + timestamp);
+        return takeScreenshot("screenshot");
     }
 
     /**
-     * Take screenshot with custom name
+     * Take screenshot with custom name (a timestamp and unique suffix are appended)
      */
     public String takeScreenshot(String screenshotName) {
         try {
-            File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            String fileName = screenshotName + ".png";
-            Path destPath = Paths.get(SCREENSHOT_DIR, fileName);
-            Files.copy(srcFile.toPath(), destPath);
-            
-            String absolutePath = destPath.toAbsolutePath().toString();
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            Path destPath = ScreenshotStore.newPath(screenshotName, ".png");
+            Files.write(destPath, png);
+            ScreenshotStore.record(destPath, png.length, LoggerManager.getCurrentTestName());
+
+            String absolutePath = destPath.toString();
             LoggerManager.info("📸 Screenshot saved: " + absolutePath);
             return absolutePath;
         } catch (IOException e) {
@@ -69,21 +83,140 @@ public class ScreenshotUtils {
 
     /**
      * Take screenshot for a test step
+     * Returns once the bytes are captured; the file is written in the background.
      */
     public String captureStep(String stepName) {
-        String timestamp = dateFormat.format(new Date());
-        String fileName = stepName.replaceAll("\\s+", "_") + "_" + timestamp;
-        return takeScreenshot(fileName);
+        return captureStep(stepName, false);
+    }
+
+    /**
+     * Take screenshot for a test step, optionally attaching it to the current Allure test
+     * @return path the screenshot is written to (complete after ScreenshotPipeline.flush)
+     */
+    public String captureStep(String stepName, boolean attachToAllure) {
+        boolean jpeg = ScreenshotImages.isJpeg(FORMAT);
+        String extension = jpeg ? ".jpg" : ".png";
+        Path destPath = ScreenshotStore.newPath(stepName, extension);
+        String testName = LoggerManager.getCurrentTestName();
+
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            LoggerManager.error("Failed to capture screenshot: " + e.getMessage());
+            return null;
+        }
+        // The attachment is registered on the test thread, its content written later
+        String attachmentSource = attachToAllure
+                ? Allure.getLifecycle().prepareAttachment(stepName, jpeg ? "image/jpeg" : "image/png", extension)
+                : null;
+
+        // Frames of one thread are processed in capture order so each can be compared to the last
+        CompletableFuture<Frame> previous = lastFrame.get();
+        CompletableFuture<Frame> current = new CompletableFuture<>();
+        lastFrame.set(current);
+
+        ScreenshotPipeline.submit(() -> {
+            Frame frame = null;
+            try {
+                frame = storeFrame(png, destPath, attachmentSource, testName, previous == null ? null : previous.join());
+            } finally {
+                current.complete(frame);
+            }
+        });
+        return destPath.toString();
+    }
+
+    /**
+     * Downscale and encode the frame, or link it to the previous one when they look the same
+     */
+    private static Frame storeFrame(byte[] png, Path destPath, String attachmentSource, String testName,
+                                    Frame previous) {
+        long start = System.nanoTime();
+        frames.increment();
+        try {
+            BufferedImage image = ScreenshotImages.downscale(ScreenshotImages.decode(png), TARGET_WIDTH);
+            Frame frame = new Frame(ScreenshotImages.signature(image), destPath, attachmentSource);
+            boolean duplicate = DEDUPE && previous != null && ScreenshotImages.looksSame(
+                    previous.signature, frame.signature, DEDUPE_DISTANCE, DEDUPE_TOLERANCE);
+
+            byte[] encoded = null;
+            int sinks = attachmentSource != null ? 2 : 1;
+            boolean linkedFile = duplicate && link(destPath, previous.path);
+            if (linkedFile) {
+                ScreenshotStore.recordLink(destPath, previous.path, testName);
+            } else {
+                encoded = ScreenshotImages.encode(image, FORMAT, JPEG_QUALITY);
+                Files.write(destPath, encoded);
+                storedBytes.add(encoded.length);
+                ScreenshotStore.record(destPath, encoded.length, testName);
+            }
+            boolean linkedAttachment = false;
+            if (attachmentSource != null) {
+                linkedAttachment = duplicate && previous.attachmentSource != null
+                        && link(ALLURE_RESULTS.resolve(attachmentSource), ALLURE_RESULTS.resolve(previous.attachmentSource));
+                if (!linkedAttachment) {
+                    if (encoded == null) {
+                        encoded = ScreenshotImages.encode(image, FORMAT, JPEG_QUALITY);
+                    }
+                    Allure.getLifecycle().writeAttachment(attachmentSource, new ByteArrayInputStream(encoded));
+                    storedBytes.add(encoded.length);
+                }
+            }
+            baselineBytes.add((long) png.length * sinks);
+            if (linkedFile || linkedAttachment) {
+                duplicates.increment();
+                LoggerManager.debug("Screenshot {} matches the previous frame - linked", destPath.getFileName());
+            } else {
+                LoggerManager.debug("📸 Screenshot saved: {}", destPath);
+            }
+            return frame;
+        } catch (IOException e) {
+            LoggerManager.error("Failed to store screenshot " + destPath.getFileName() + ": " + e.getMessage());
+            return null;
+        } finally {
+            processingNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Hard-link a frame to an identical earlier one; no bytes are stored twice
+     */
+    private static boolean link(Path link, Path existing) {
+        try {
+            Files.createLink(link, existing);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stored bytes against the baseline of one full-size PNG per sink (file and Allure)
+     */
+    public static String getImageSummary() {
+        long baseline = baselineBytes.sum();
+        long stored = storedBytes.sum();
+        return String.format("Step screenshots - frames: %d, duplicates linked: %d, full-size PNG: %s, stored: %s, "
+                        + "saved: %s (%.1f%%), processing: %d ms",
+                frames.sum(), duplicates.sum(), LogUtils.formatFileSize(baseline), LogUtils.formatFileSize(stored),
+                (baseline < stored ? "-" : "") + LogUtils.formatFileSize(Math.abs(baseline - stored)),
+                baseline == 0 ? 0.0 : 100.0 * (baseline - stored) / baseline,
+                TimeUnit.NANOSECONDS.toMillis(processingNanos.sum()));
+    }
+
+    public static void logImageSummary() {
+        if (frames.sum() > 0) {
+            LoggerManager.info(getImageSummary());
+        }
     }
     
     /**
      * Take screenshot on failure
      */
     public String captureFailure(String testName) {
-        String timestamp = dateFormat.format(new Date());
-        String fileName = "FAILED_" + testName + "_" + timestamp;
         LoggerManager.error("Test failed, capturing screenshot...");
-        return takeScreenshot(fileName);
+        return takeScreenshot("FAILED_" + testName);
     }
 
     /**
@@ -92,5 +225,16 @@ public class ScreenshotUtils {
     public String takeScreenshotAsBase64() {
         return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
     }
-}
 
+    private static final class Frame {
+        private final ScreenshotImages.Signature signature;
+        private final Path path;
+        private final String attachmentSource;
+
+        Frame(ScreenshotImages.Signature signature, Path path, String attachmentSource) {
+            this.signature = signature;
+            this.path = path;
+            this.attachmentSource = attachmentSource;
+        }
+    }
+}
@@ -1,17 +1,32 @@
 package base;
 
+import core.CommandMetrics;
+import core.ConfigReader;
 import core.DriverFactory;
 import core.LoggerManager;
+import core.Platform;
+import core.ResetLevel;
+import core.TimedCommandExecutor;
+import core.WaitStats;
 import io.appium.java_client.AppiumDriver;
 import io.qameta.allure.Allure;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.CustomAttribute;
+import org.testng.annotations.Test;
 import pages.*;
 import utils.AllureUtils;
+import utils.FailureEvidence;
+import utils.ScreenRecorder;
+import utils.ScreenshotPipeline;
+import utils.ScreenshotStore;
 import utils.ScreenshotUtils;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Base Test class for all test classes
@@ -22,6 +37,7 @@ public class BaseTest {
 
     protected AppiumDriver driver;
     protected ScreenshotUtils screenshotUtil;
+    protected ScreenRecorder screenRecorder;
     
     // Page Objects
     protected LoginPage loginPage;
@@ -30,22 +46,54 @@ public class BaseTest {
     protected SwitchesPage switchesPage;
     protected InputPage inputPage;
 
+    private static final long SCREENSHOT_FLUSH_MILLIS = 30000;
+
+    // Login reuse metrics
+    private static final AtomicInteger fullLogins = new AtomicInteger();
+    private static final AtomicInteger reusedLogins = new AtomicInteger();
+    private static final AtomicInteger deepLinkLogins = new AtomicInteger();
+
     @BeforeMethod
     public void setUp(Method method) {
         String testName = method.getName();
         LoggerManager.testStart(testName);
+        CommandMetrics.startTest();
+        // A recording left by a test whose tearDown did not run must not roll segments in this one
+        if (screenRecorder != null) {
+            screenRecorder.finish(testName, false);
+            screenRecorder = null;
+        }
+        TimedCommandExecutor.setBeforeCommand(null);
         
-        // Initialize driver
+        // Initialize driver and apply the cheapest reset the test needs
         driver = DriverFactory.getDriver();
+        DriverFactory.applyReset(getRequiredResetLevel(method), this::navigateHome);
+        driver = DriverFactory.getDriver();
+        // Reused sessions buffer device logs across tests; keep failure evidence to this test
+        if (DriverFactory.isPoolingEnabled()) {
+            FailureEvidence.discardDeviceLogBacklog(driver);
+        }
         screenshotUtil = new ScreenshotUtils(driver);
         
         // Add test info to Allure
         Allure.parameter("Test Name", testName);
-        Allure.parameter("Platform", core.ConfigReader.getInstance().getPlatformName());
+        Allure.parameter("Platform", ConfigReader.getInstance().getPlatformName());
+        if (DriverFactory.getCurrentDevice() != null) {
+            Allure.parameter("Device", DriverFactory.getCurrentDevice().getName());
+            LoggerManager.setTestDevice(DriverFactory.getCurrentDevice().getName());
+        } else {
+            LoggerManager.setTestDevice(ConfigReader.getInstance().getDeviceName());
+        }
         
         // Initialize page objects
         initializePages();
         
+        // Last, so a failing setup step cannot leave a recording running
+        if (ScreenRecorder.isEnabled()) {
+            screenRecorder = new ScreenRecorder(driver);
+            screenRecorder.start();
+        }
+        
         LoggerManager.success("Test setup completed");
     }
 
@@ -54,22 +102,59 @@ public class BaseTest {
         String testName = result.getMethod().getMethodName();
         boolean passed = result.getStatus() == ITestResult.SUCCESS;
         
-        // Take screenshot on failure and attach to Allure
+        // Capture failure evidence once, save it and attach it to Allure
         if (!passed) {
-            screenshotUtil.captureFailure(testName);
-            AllureUtils.attachScreenshot(driver, "Failure Screenshot");
-            AllureUtils.attachPageSource(driver, "Page Source on Failure");
-            
-            // Attach exception details
-            if (result.getThrowable() != null) {
-                AllureUtils.attachText("Error Details", result.getThrowable().toString());
-            }
+            FailureEvidence evidence = FailureEvidence.collect(result);
+            evidence.saveToFiles();
+            evidence.attachToAllure();
+        }
+
+        // Keep the screen recording only for failures
+        if (screenRecorder != null) {
+            screenRecorder.finish(testName, result.getStatus() == ITestResult.FAILURE);
+            screenRecorder = null;
         }
         
-        // Quit driver
+        // Step screenshots still being written belong to this test
+        ScreenshotPipeline.flush(SCREENSHOT_FLUSH_MILLIS);
+
+        long testMillis = result.getEndMillis() - result.getStartMillis();
+        LoggerManager.info("Transport: " + CommandMetrics.getTestCommandCount() + " Appium commands, "
+                + CommandMetrics.getTestTransportMillis() + " ms (test body " + testMillis + " ms)");
+
+        // Quit driver (returned to the session pool when pooling is enabled)
         DriverFactory.quitDriver();
         
-        LoggerManager.testEnd(testName, passed);
+        // Attach this test's own log lines
+        AllureUtils.attachText("Test Log", LoggerManager.testEnd(testName, passed));
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        // Quit pooled sessions
+        DriverFactory.shutdown();
+        HierarchySnapshots.logSummary();
+        LocatorCompiler.logReport();
+        PageTransitions.logSummary();
+        WaitStats.logSummary();
+        ElementCache.logSummary();
+        ScreenshotPipeline.shutdown(SCREENSHOT_FLUSH_MILLIS);
+        ScreenshotPipeline.logSummary();
+        ScreenshotUtils.logImageSummary();
+        ScreenRecorder.logSummary();
+        ScreenshotStore.evictNow(SCREENSHOT_FLUSH_MILLIS);
+        ScreenshotStore.logSummary();
+        if (ConfigReader.getInstance().getLoginReuseEnabled()) {
+            LoggerManager.info("Login reuse - full logins: " + fullLogins.get()
+                    + ", reused: " + reusedLogins.get() + " (via deep link: " + deepLinkLogins.get() + ")");
+        }
+
+        // Attach device utilisation to Allure
+        if (DriverFactory.getDeviceRegistry() != null) {
+            String report = DriverFactory.getDeviceRegistry().getUtilisationReport();
+            LoggerManager.info(report);
+            AllureUtils.attachText("Device Utilisation", report);
+        }
     }
 
     /**
@@ -93,6 +178,11 @@ public class BaseTest {
      * Common login method
      */
     protected ListPage performLogin(String username, String password) {
+        if (ConfigReader.getInstance().getLoginReuseEnabled() && restoreLogin()) {
+            initializePagesAfterLogin();
+            return listPage;
+        }
+        fullLogins.incrementAndGet();
         LoggerManager.info("Performing login...");
         Allure.step("Login with username: " + username);
         listPage = loginPage.login(username, password);
@@ -100,6 +190,80 @@ public class BaseTest {
         return listPage;
     }
 
+    /**
+     * Reuse the authenticated app state: return to the List tab, or open the configured deep link
+     * @return false when a full login is needed
+     */
+    private boolean restoreLogin() {
+        long start = System.currentTimeMillis();
+        ListPage home = new ListPage(driver);
+        boolean restored = home.returnHome();
+
+        String deepLink = ConfigReader.getInstance().getLoginDeepLink();
+        if (!restored && !deepLink.isEmpty()) {
+            try {
+                openDeepLink(deepLink);
+                restored = home.waitUntilShown(5);
+                if (restored) {
+                    deepLinkLogins.incrementAndGet();
+                }
+            } catch (Exception e) {
+                LoggerManager.warn("Deep link failed: " + e.getMessage());
+            }
+        }
+
+        if (restored) {
+            reusedLogins.incrementAndGet();
+            listPage = home;
+            LoggerManager.info("Reused authenticated state in " + (System.currentTimeMillis() - start) + " ms");
+        }
+        return restored;
+    }
+
+    private void openDeepLink(String url) {
+        String appId = ConfigReader.getInstance().getAppId();
+        String appKey = DriverFactory.getCurrentPlatform() == Platform.IOS ? "bundleId" : "package";
+        driver.executeScript("mobile: deepLink", appId.isEmpty()
+                ? Map.of("url", url)
+                : Map.of("url", url, appKey, appId));
+    }
+
+    private boolean isFreshLoginRequired(Method method) {
+        return method.isAnnotationPresent(FreshLogin.class)
+                || method.getDeclaringClass().isAnnotationPresent(FreshLogin.class);
+    }
+
+    /**
+     * Reset declared by @RequiresReset (method, then class), the TestNG "reset" attribute,
+     * or the configured default; @FreshLogin needs at least an app restart
+     */
+    private ResetLevel getRequiredResetLevel(Method method) {
+        ResetLevel level = null;
+        if (method.isAnnotationPresent(RequiresReset.class)) {
+            level = method.getAnnotation(RequiresReset.class).value();
+        } else if (method.getDeclaringClass().isAnnotationPresent(RequiresReset.class)) {
+            level = method.getDeclaringClass().getAnnotation(RequiresReset.class).value();
+        } else if (method.isAnnotationPresent(Test.class)) {
+            for (CustomAttribute attribute : method.getAnnotation(Test.class).attributes()) {
+                if ("reset".equals(attribute.name()) && attribute.values().length > 0) {
+                    level = ResetLevel.parse(attribute.values()[0]);
+                }
+            }
+        }
+        if (level == null) {
+            level = DriverFactory.getDefaultResetLevel() != null ? DriverFactory.getDefaultResetLevel() : ResetLevel.NONE;
+        }
+        return isFreshLoginRequired(method) ? ResetLevel.max(level, ResetLevel.RESTART_APP) : level;
+    }
+
+    /**
+     * Home is the List tab when logged in, otherwise the Login page
+     */
+    private boolean navigateHome() {
+        AppiumDriver current = DriverFactory.getDriver();
+        return new ListPage(current).returnHome() || new LoginPage(current).isShownNow();
+    }
+
     /**
      * Common login with default credentials
      */
@@ -109,10 +273,14 @@ public class BaseTest {
 
     /**
      * Take screenshot helper with Allure integration
+     * Captures once; the file and the attachment are written in the background.
+     * While the screen is being recorded the step is only marked in the recording (returns null).
      */
     protected String captureStep(String stepName) {
-        String path = screenshotUtil.captureStep(stepName);
-        AllureUtils.saveScreenshot(driver, stepName);
-        return path;
+        if (screenRecorder != null && screenRecorder.isRecording()) {
+            screenRecorder.checkpoint(stepName);
+            return null;
+        }
+        return screenshotUtil.captureStep(stepName, true);
     }
 }
@@ -0,0 +1,16 @@
+package base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks tests that must start from the Login page
+ * With login reuse enabled, the app is restarted before these tests instead of
+ * reusing the authenticated session. Applies to a method or a whole test class.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface FreshLogin {
+}
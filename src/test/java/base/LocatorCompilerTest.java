@@ -0,0 +1,139 @@
+package base;
+
+import core.Platform;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * LocatorCompiler translation of XPath locators into native strategies
+ * Run with: mvn test -Dtestng.suite=testng-unit.xml
+ */
+public class LocatorCompilerTest {
+
+    @Test(description = "Android tag and string attributes become a UiSelector")
+    public void androidUiSelector() {
+        assertCompiles(Platform.ANDROID, "//android.widget.Button[@text='Login' and @resource-id='com.app:id/login']",
+                AppiumBy.androidUIAutomator(
+                        "new UiSelector().className(\"android.widget.Button\").text(\"Login\").resourceId(\"com.app:id/login\")"));
+    }
+
+    @Test(description = "Android content-desc on any tag becomes an accessibility id")
+    public void androidAccessibilityIdShortcut() {
+        assertCompiles(Platform.ANDROID, "//*[@content-desc='menu']", AppiumBy.accessibilityId("menu"));
+        // With a tag the class must still match, so it stays a UiSelector
+        assertCompiles(Platform.ANDROID, "//android.widget.ImageView[@content-desc='menu']",
+                AppiumBy.androidUIAutomator(
+                        "new UiSelector().className(\"android.widget.ImageView\").description(\"menu\")"));
+    }
+
+    @Test(description = "Android boolean attributes translate only for literal true/false")
+    public void androidBooleanAttributes() {
+        assertCompiles(Platform.ANDROID, "//*[@checked='true' and @long-clickable='false']",
+                AppiumBy.androidUIAutomator("new UiSelector().checked(true).longClickable(false)"));
+        assertKept(Platform.ANDROID, "//*[@checked='yes']");
+        assertKept(Platform.ANDROID, "//*[@checked='TRUE']");
+    }
+
+    @Test(description = "Quotes and backslashes in values are escaped for UiSelector and NSPredicate")
+    public void escapesQuotedValues() {
+        assertCompiles(Platform.ANDROID, "//*[@text='say \"hi\" \\o/']",
+                AppiumBy.androidUIAutomator("new UiSelector().text(\"say \\\"hi\\\" \\\\o/\")"));
+        assertCompiles(Platform.IOS, "//XCUIElementTypeStaticText[@label='say \"hi\"']",
+                AppiumBy.iOSNsPredicateString("type == \"XCUIElementTypeStaticText\" AND label == \"say \\\"hi\\\"\""));
+    }
+
+    @Test(description = "Toasts are only visible to XPath and are never rewritten")
+    public void androidToastStaysXPath() {
+        assertKept(Platform.ANDROID, "//android.widget.Toast");
+        assertKept(Platform.ANDROID, "//android.widget.Toast[@text='Saved']");
+    }
+
+    @Test(description = "Android attributes without a UiSelector equivalent keep the XPath")
+    public void androidUnknownAttributeStaysXPath() {
+        assertKept(Platform.ANDROID, "//*[@index='2']");
+        assertKept(Platform.ANDROID, "//*");
+    }
+
+    @Test(description = "iOS name on any tag becomes an accessibility id")
+    public void iosAccessibilityIdShortcut() {
+        assertCompiles(Platform.IOS, "//*[@name='Login']", AppiumBy.accessibilityId("Login"));
+        assertCompiles(Platform.IOS, "//XCUIElementTypeButton[@name='Login']",
+                AppiumBy.iOSNsPredicateString("type == \"XCUIElementTypeButton\" AND name == \"Login\""));
+        assertCompiles(Platform.IOS, "//*[@name='Login' and @enabled='true']",
+                AppiumBy.iOSNsPredicateString("name == \"Login\" AND enabled == \"true\""));
+    }
+
+    @Test(description = "iOS bare tag becomes a class chain, unknown attributes keep the XPath")
+    public void iosClassChainAndFallback() {
+        assertCompiles(Platform.IOS, "//XCUIElementTypeCell", AppiumBy.iOSClassChain("**/XCUIElementTypeCell"));
+        assertKept(Platform.IOS, "//*[@content-desc='menu']");
+        assertKept(Platform.IOS, "//*");
+    }
+
+    @Test(description = "Unparseable XPath and non-XPath locators are returned unchanged")
+    public void nonTranslatableLocatorsAreReturnedAsIs() {
+        assertKept(Platform.ANDROID, "//*[contains(@text,'Login')]");
+        assertKept(Platform.IOS, "(//XCUIElementTypeButton)[2]");
+        By id = By.id("com.app:id/login");
+        Assert.assertSame(LocatorCompiler.compile(id, Platform.ANDROID), id);
+    }
+
+    @Test(description = "Compiled locators are cached per platform")
+    public void cachesPerPlatform() {
+        By locator = By.xpath("//*[@name='cached']");
+        By first = LocatorCompiler.compile(locator, Platform.IOS);
+        Assert.assertSame(LocatorCompiler.compile(locator, Platform.IOS), first);
+        Assert.assertNotEquals(LocatorCompiler.compile(locator, Platform.ANDROID), first);
+    }
+
+    @Test(description = "Android state locators filter on displayed and enabled in one XPath lookup")
+    public void androidStateLocators() {
+        assertState(By.id("com.app:id/login"), Platform.ANDROID, true,
+                By.xpath("//*[@resource-id='com.app:id/login'][@displayed='true' and @enabled='true']"));
+        assertState(By.id("login"), Platform.ANDROID, false,
+                By.xpath("//*[substring-after(@resource-id, ':id/')='login'][@displayed='true']"));
+        assertState(AppiumBy.accessibilityId("it's"), Platform.ANDROID, false,
+                By.xpath("//*[@content-desc=\"it's\"][@displayed='true']"));
+        assertState(By.className("android.widget.Button"), Platform.ANDROID, true,
+                By.xpath("//android.widget.Button[@displayed='true' and @enabled='true']"));
+        assertState(By.xpath("//*[@text='OK']"), Platform.ANDROID, false,
+                By.xpath("(//*[@text='OK'])[@displayed='true']"));
+    }
+
+    @Test(description = "State that cannot be expressed in one lookup falls back to the two-step check")
+    public void stateFallsBackWhenInexpressible() {
+        Assert.assertNull(LocatorCompiler.compileState(
+                AppiumBy.androidUIAutomator("new UiSelector().text(\"OK\")"), Platform.ANDROID, true));
+        Assert.assertNull(LocatorCompiler.compileState(
+                AppiumBy.accessibilityId("say \"it's\""), Platform.ANDROID, true));
+        Assert.assertNull(LocatorCompiler.compileState(
+                AppiumBy.iOSClassChain("**/XCUIElementTypeCell"), Platform.IOS, true));
+    }
+
+    @Test(description = "iOS state locators filter on visible and enabled in the predicate")
+    public void iosStateLocators() {
+        assertState(AppiumBy.accessibilityId("Login"), Platform.IOS, true,
+                AppiumBy.iOSNsPredicateString("name == \"Login\" AND visible == 1 AND enabled == 1"));
+        assertState(AppiumBy.iOSNsPredicateString("label == \"OK\""), Platform.IOS, false,
+                AppiumBy.iOSNsPredicateString("(label == \"OK\") AND visible == 1"));
+    }
+
+    private static void assertState(By locator, Platform platform, boolean enabled, By expected) {
+        By state = LocatorCompiler.compileState(locator, platform, enabled);
+        Assert.assertNotNull(state, "State locator for " + locator);
+        Assert.assertEquals(state.toString(), expected.toString(), "State locator for " + locator);
+    }
+
+    private static void assertCompiles(Platform platform, String xpath, By expected) {
+        By compiled = LocatorCompiler.compile(By.xpath(xpath), platform);
+        Assert.assertEquals(compiled.toString(), expected.toString(), "Translation of " + xpath);
+        Assert.assertEquals(compiled.getClass(), expected.getClass(), "Strategy of " + xpath);
+    }
+
+    private static void assertKept(Platform platform, String xpath) {
+        By locator = By.xpath(xpath);
+        Assert.assertSame(LocatorCompiler.compile(locator, platform), locator, "Expected XPath kept: " + xpath);
+    }
+}
@@ -0,0 +1,20 @@
+package base;
+
+import core.ResetLevel;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Minimum app reset a test needs before it runs
+ * The framework applies the cheapest reset that satisfies it on the leased session.
+ * Applies to a method or a whole test class; the TestNG attribute "reset" works too:
+ *   @Test(attributes = @CustomAttribute(name = "reset", values = "CLEAR_DATA"))
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequiresReset {
+    ResetLevel value();
+}
@@ -0,0 +1,71 @@
+package base;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SimpleXPath parsing of the locator shapes used by the page objects
+ * Run with: mvn test -Dtestng.suite=testng-unit.xml
+ */
+public class SimpleXPathTest {
+
+    @Test(description = "Tag and attribute conditions are parsed in declaration order")
+    public void parsesTagAndAttributes() {
+        SimpleXPath xpath = SimpleXPath.parse("//android.widget.Button[@text='OK' and @enabled='true']");
+        Assert.assertNotNull(xpath);
+        Assert.assertEquals(xpath.getTag(), "android.widget.Button");
+        Assert.assertFalse(xpath.isAnyTag());
+        Assert.assertEquals(List.copyOf(xpath.getAttributes().entrySet()),
+                List.of(Map.entry("text", "OK"), Map.entry("enabled", "true")));
+    }
+
+    @Test(description = "Wildcard tag and separate predicate blocks are accepted")
+    public void parsesWildcardAndPredicateBlocks() {
+        SimpleXPath xpath = SimpleXPath.parse("  //*[@content-desc='menu'][@clickable='true']  ");
+        Assert.assertNotNull(xpath);
+        Assert.assertTrue(xpath.isAnyTag());
+        Assert.assertEquals(xpath.getAttributes(), Map.of("content-desc", "menu", "clickable", "true"));
+
+        SimpleXPath bare = SimpleXPath.parse("//XCUIElementTypeButton");
+        Assert.assertNotNull(bare);
+        Assert.assertTrue(bare.getAttributes().isEmpty());
+    }
+
+    @Test(description = "Quoted values keep spaces, the other quote character and the word and")
+    public void keepsQuotedValuesIntact() {
+        Assert.assertEquals(SimpleXPath.parse("//*[@text=\"It's done\"]").getAttributes().get("text"), "It's done");
+        Assert.assertEquals(SimpleXPath.parse("//*[@text='say \"hi\"']").getAttributes().get("text"), "say \"hi\"");
+        Assert.assertEquals(SimpleXPath.parse("//*[@text='Terms and Conditions' and @index='2']").getAttributes(),
+                Map.of("text", "Terms and Conditions", "index", "2"));
+        Assert.assertEquals(SimpleXPath.parse("//*[ @text = 'x' ]").getAttributes().get("text"), "x");
+    }
+
+    @Test(description = "Anything beyond tag/attribute equality is rejected")
+    public void rejectsUnsupportedExpressions() {
+        String[] unsupported = {
+                "//android.widget.LinearLayout/android.widget.Button",
+                "//*[1]",
+                "(//*[@text='OK'])[1]",
+                "//*[contains(@text,'OK')]",
+                "//*[@text='OK' or @text='Cancel']",
+                "//*[@text='OK' and @text='Cancel']",
+                "//*[@text=OK]",
+                "//*[@text='unterminated]",
+                "/hierarchy",
+                "//*[@text='OK']/..",
+                ""
+        };
+        for (String expression : unsupported) {
+            Assert.assertNull(SimpleXPath.parse(expression), "Expected rejection of: " + expression);
+        }
+    }
+
+    @Test(description = "Parsed attributes cannot be modified")
+    public void attributesAreReadOnly() {
+        SimpleXPath xpath = SimpleXPath.parse("//*[@text='OK']");
+        Assert.expectThrows(UnsupportedOperationException.class, () -> xpath.getAttributes().put("name", "x"));
+    }
+}
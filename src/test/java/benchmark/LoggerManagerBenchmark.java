@@ -0,0 +1,83 @@
+package benchmark;
+
+import core.LogLevel;
+import core.LoggerManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.By;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of LoggerManager.debug() with the level at DEBUG (written) and INFO (discarded)
+ * "eager" calls build the message by concatenation (the style used before log levels),
+ * "param" and "supplier" calls only build it when the level is enabled.
+ * Console output goes to a discarding stream and file logging is off.
+ *
+ * Run: mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *      java -cp target/test-classes:target/classes:$(cat target/cp.txt) benchmark.LoggerManagerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerManagerBenchmark {
+
+    @Param({"DEBUG", "INFO"})
+    private String level;
+
+    private final By locator = By.id("com.example.trusttest:id/editTextUsername");
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        LoggerManager.setFileLoggingEnabled(false);
+        LoggerManager.setLevel(LogLevel.valueOf(level));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void eager() {
+        LoggerManager.debug("Finding element: " + locator);
+    }
+
+    @Benchmark
+    public void param() {
+        LoggerManager.debug("Finding element: {}", locator);
+    }
+
+    @Benchmark
+    public void supplier() {
+        LoggerManager.debug(() -> "Finding element: " + locator);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggerManagerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * AppiumHttpClient against a local stand-in for the Appium server
+ * Run with: mvn test -Dtestng.suite=testng-unit.xml
+ */
+public class AppiumHttpClientTest {
+
+    private static final String STATUS_BODY = "{\"value\":{\"ready\":true}}";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+
+        server.createContext("/status", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            respond(exchange, 200, STATUS_BODY.getBytes(StandardCharsets.UTF_8), false);
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, STATUS_BODY.getBytes(StandardCharsets.UTF_8), false);
+        });
+        server.createContext("/error", exchange -> respond(exchange, 500,
+                "{\"value\":{\"error\":\"unknown error\"}}".getBytes(StandardCharsets.UTF_8), false));
+        server.createContext("/gzip", exchange -> respond(exchange, 200, gzip(STATUS_BODY), true));
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+            serverThreads.shutdownNow();
+        }
+        clientPorts.clear();
+    }
+
+    @Test(description = "Sequential commands reuse one keep-alive connection")
+    public void reusesKeepAliveConnection() {
+        HttpClient client = createClient(Duration.ofSeconds(5), false);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(client.execute(new HttpRequest(HttpMethod.GET, "/status")).getStatus(), 200);
+        }
+        Assert.assertEquals(clientPorts.size(), 1, "All commands should use the same connection");
+    }
+
+    @Test(description = "Read timeout surfaces as Selenium TimeoutException")
+    public void mapsReadTimeout() {
+        HttpClient client = createClient(Duration.ofMillis(300), false);
+        long start = System.currentTimeMillis();
+        Assert.expectThrows(TimeoutException.class, () -> client.execute(new HttpRequest(HttpMethod.GET, "/slow")));
+        Assert.assertTrue(System.currentTimeMillis() - start < 1500, "Timeout should not wait for the response");
+    }
+
+    @Test(description = "Error statuses are returned with their body for the W3C codec")
+    public void returnsErrorResponses() {
+        HttpResponse response = createClient(Duration.ofSeconds(5), false)
+                .execute(new HttpRequest(HttpMethod.POST, "/error"));
+        Assert.assertEquals(response.getStatus(), 500);
+        Assert.assertTrue(Contents.string(response).contains("unknown error"));
+    }
+
+    @Test(description = "Refused connections surface as UncheckedIOException")
+    public void mapsConnectionFailure() {
+        HttpClient client = createClient(Duration.ofSeconds(5), false);
+        server.stop(0);
+        Assert.expectThrows(UncheckedIOException.class, () -> client.execute(new HttpRequest(HttpMethod.GET, "/status")));
+    }
+
+    @Test(description = "Gzip responses are decoded and the encoding and length headers dropped")
+    public void decodesGzipResponses() {
+        HttpResponse response = createClient(Duration.ofSeconds(5), true)
+                .execute(new HttpRequest(HttpMethod.GET, "/gzip"));
+        Assert.assertEquals(Contents.string(response), STATUS_BODY);
+        Assert.assertNull(response.getHeader("Content-Encoding"));
+        String length = response.getHeader("Content-Length");
+        Assert.assertTrue(length == null || Integer.parseInt(length) == STATUS_BODY.length(),
+                "Content-Length must not be the compressed size");
+    }
+
+    private HttpClient createClient(Duration readTimeout, boolean compression) {
+        AppiumHttpClient.Factory factory = new AppiumHttpClient.Factory(Duration.ofSeconds(2), readTimeout,
+                java.net.http.HttpClient.Version.HTTP_1_1, compression);
+        URI baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        return factory.createClient(ClientConfig.defaultConfig().baseUri(baseUri));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body, boolean gzipped) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        if (gzipped) {
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        // A known length keeps the connection open for the next request
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
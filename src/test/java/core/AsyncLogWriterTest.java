@@ -0,0 +1,183 @@
+package core;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * AsyncLogWriter ring buffer under concurrent producers
+ * Run with: mvn test -Dtestng.suite=testng-unit.xml
+ */
+public class AsyncLogWriterTest {
+
+    private static final int PRODUCERS = 4;
+
+    @Test(description = "BLOCK keeps every line from concurrent producers exactly once, in per-producer order")
+    public void blockPolicyLosesNothing() throws Exception {
+        Output output = new Output();
+        AsyncLogWriter writer = output.writer(8, AsyncLogWriter.OverflowPolicy.BLOCK, 5);
+
+        Set<String> accepted = produce(writer, 5_000, null);
+        writer.close(10_000);
+
+        Assert.assertEquals(accepted.size(), PRODUCERS * 5_000, "BLOCK must accept every line");
+        List<String> lines = output.lines();
+        assertExactlyOnce(lines, accepted);
+        assertProducerOrder(lines);
+        Assert.assertTrue(writer.getSummary().contains("dropped: 0"), writer.getSummary());
+    }
+
+    @Test(description = "DROP writes every accepted line exactly once and nothing it rejected")
+    public void dropPolicyWritesOnlyAcceptedLines() throws Exception {
+        Output output = new Output();
+        AsyncLogWriter writer = output.writer(8, AsyncLogWriter.OverflowPolicy.DROP, 5);
+
+        Set<String> accepted = produce(writer, 5_000, null);
+        writer.close(10_000);
+
+        List<String> lines = output.lines();
+        assertExactlyOnce(lines, accepted);
+        assertProducerOrder(lines);
+        int dropped = PRODUCERS * 5_000 - accepted.size();
+        Assert.assertTrue(writer.getSummary().contains("dropped: " + dropped), writer.getSummary());
+    }
+
+    @Test(description = "close() writes everything still buffered before returning")
+    public void closeDrainsBuffer() {
+        Output output = new Output();
+        // Flush interval far beyond the test, so only close() can flush
+        AsyncLogWriter writer = output.writer(1024, AsyncLogWriter.OverflowPolicy.BLOCK, 60_000);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String line = "0-" + i;
+            Assert.assertTrue(writer.offer(line, null, false, false));
+            expected.add(line);
+        }
+        writer.close(10_000);
+
+        Assert.assertFalse(writer.isRunning());
+        Assert.assertEquals(output.lines(), expected);
+        Assert.assertFalse(writer.offer("late", null, false, false), "Lines offered after close are rejected");
+    }
+
+    @Test(description = "Lines accepted while close() runs are still written")
+    public void closeRacingProducers() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            for (AsyncLogWriter.OverflowPolicy policy : AsyncLogWriter.OverflowPolicy.values()) {
+                Output output = new Output();
+                AsyncLogWriter writer = output.writer(64, policy, 5);
+
+                Set<String> accepted = produce(writer, 2_000, () -> writer.close(10_000));
+
+                assertExactlyOnce(output.lines(), accepted);
+            }
+        }
+    }
+
+    @Test(description = "Console lines go to stdout or stderr as requested")
+    public void routesToStdErr() {
+        Output output = new Output();
+        AsyncLogWriter writer = output.writer(16, AsyncLogWriter.OverflowPolicy.BLOCK, 5);
+        writer.offer("info", null, false, false);
+        writer.offer("error", null, true, true);
+        writer.close(10_000);
+
+        Assert.assertEquals(output.lines(), List.of("info"));
+        Assert.assertEquals(output.errLines(), List.of("error"));
+    }
+
+    /**
+     * Offer lines "producer-index" from all producers at once
+     * @param whileRunning Action run concurrently with the producers, or null
+     * @return lines the writer accepted
+     */
+    private static Set<String> produce(AsyncLogWriter writer, int linesPerProducer, Runnable whileRunning)
+            throws InterruptedException {
+        Set<String> accepted = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < linesPerProducer; i++) {
+                    String line = producer + "-" + i;
+                    if (writer.offer(line, null, false, i % 500 == 0)) {
+                        accepted.add(line);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        if (whileRunning != null) {
+            whileRunning.run();
+        }
+        for (Thread thread : threads) {
+            thread.join(30_000);
+            Assert.assertFalse(thread.isAlive(), "Producer did not finish");
+        }
+        return accepted;
+    }
+
+    private static void assertExactlyOnce(List<String> lines, Set<String> accepted) {
+        Set<String> seen = new HashSet<>();
+        for (String line : lines) {
+            Assert.assertTrue(seen.add(line), "Duplicated line: " + line);
+            Assert.assertTrue(accepted.contains(line), "Line written but not accepted: " + line);
+        }
+        Assert.assertEquals(seen.size(), accepted.size(), "Accepted lines missing from the output");
+    }
+
+    private static void assertProducerOrder(List<String> lines) {
+        int[] last = new int[PRODUCERS];
+        Arrays.fill(last, -1);
+        for (String line : lines) {
+            String[] parts = line.split("-");
+            int producer = Integer.parseInt(parts[0]);
+            int index = Integer.parseInt(parts[1]);
+            Assert.assertTrue(index > last[producer], "Out of order for producer " + producer + ": " + line);
+            last[producer] = index;
+        }
+    }
+
+    private static final class Output {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        AsyncLogWriter writer(int capacity, AsyncLogWriter.OverflowPolicy policy, long flushIntervalMillis) {
+            return new AsyncLogWriter(capacity, policy, flushIntervalMillis,
+                    new PrintStream(out, false, StandardCharsets.UTF_8),
+                    new PrintStream(err, false, StandardCharsets.UTF_8), null);
+        }
+
+        List<String> lines() {
+            return split(out);
+        }
+
+        List<String> errLines() {
+            return split(err);
+        }
+
+        private static List<String> split(ByteArrayOutputStream stream) {
+            String text = stream.toString(StandardCharsets.UTF_8);
+            return text.isEmpty() ? List.of() : List.of(text.split(System.lineSeparator()));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import pages.ButtonsPage;
 import utils.AllureUtils;
 
 /**
@@ -30,10 +31,13 @@ public class ButtonsTest extends BaseTest {
         captureStep("ButtonsTab_Initial");
         
         Assert.assertTrue(buttonsPage.isPageLoaded(), "Buttons tab should be displayed");
-        Assert.assertTrue(buttonsPage.isButton1Displayed(), "Button 1 should be displayed");
-        Assert.assertTrue(buttonsPage.isButton2Displayed(), "Button 2 should be displayed");
-        Assert.assertTrue(buttonsPage.isButton3Displayed(), "Button 3 should be displayed");
-        Assert.assertTrue(buttonsPage.isResetButtonDisplayed(), "Reset button should be displayed");
+
+        // All visibility checks resolved in one round trip
+        ButtonsPage.ButtonsVisibility visibility = buttonsPage.getButtonsVisibility();
+        Assert.assertTrue(visibility.isButton1Displayed(), "Button 1 should be displayed");
+        Assert.assertTrue(visibility.isButton2Displayed(), "Button 2 should be displayed");
+        Assert.assertTrue(visibility.isButton3Displayed(), "Button 3 should be displayed");
+        Assert.assertTrue(visibility.isResetButtonDisplayed(), "Reset button should be displayed");
         
         LoggerManager.success("All buttons displayed");
     }
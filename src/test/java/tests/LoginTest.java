@@ -1,8 +1,10 @@
 package tests;
 
 import base.BaseTest;
+import base.FreshLogin;
 import core.LoggerManager;
 import io.qameta.allure.*;
+import pages.LoginPage;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -12,6 +14,7 @@ import org.testng.annotations.Test;
  */
 @Epic("Mobile App Testing")
 @Feature("Login Feature")
+@FreshLogin
 public class LoginTest extends BaseTest {
 
     @Test(description = "Verify Login page is displayed after app launch")
@@ -38,8 +41,7 @@ public class LoginTest extends BaseTest {
         loginPage.enterPassword("password");
         captureStep("Password_Entered");
 
-        listPage = loginPage.clickSubmit();
-        core.WaitHelper.sleep(10000); // Wait for login animation
+        listPage = loginPage.submitLogin();
 
         captureStep("After_Login");
 
@@ -54,11 +56,11 @@ public class LoginTest extends BaseTest {
         loginPage.clearUsername();
         loginPage.clearPassword();
 
-        loginPage.clickSubmit();
-        core.WaitHelper.sleep(2000);
+        LoginPage.SubmitOutcome outcome = loginPage.submitAndAwaitOutcome();
 
         captureStep("Empty_Credentials_Submit");
 
+        Assert.assertNotEquals(outcome, LoginPage.SubmitOutcome.LOGGED_IN, "Should not log in with empty credentials");
         Assert.assertTrue(loginPage.isPageLoaded(), "Should stay on login page with empty credentials");
         LoggerManager.success("Empty credentials handled correctly");
     }
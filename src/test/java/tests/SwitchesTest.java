@@ -1,14 +1,19 @@
 package tests;
 
 import base.BaseTest;
+import base.RequiresReset;
 import core.LoggerManager;
+import core.ResetLevel;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 /**
  * Switches Tab functionality tests
+ * Every test sets or compares switch states itself, so leftover states do not matter;
+ * returning home keeps the logged-in session for login reuse
  */
+@RequiresReset(ResetLevel.NAVIGATE_HOME)
 public class SwitchesTest extends BaseTest {
 
     @BeforeMethod
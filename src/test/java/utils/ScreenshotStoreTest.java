@@ -0,0 +1,190 @@
+package utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * ScreenshotStore accounting and eviction in a temporary directory
+ * Run with: mvn test -Dtestng.suite=testng-unit.xml
+ */
+public class ScreenshotStoreTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private Path dir;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        dir = Files.createTempDirectory("screenshot-store");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        // Let any queued eviction finish before the directory goes away
+        ScreenshotStore.evictNow(5_000);
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "A hard link is charged once with its original")
+    public void linkIsChargedOnce() throws IOException {
+        ScreenshotStore.useDirectory(dir, 0, 0);
+        Path original = store("a.jpg", 100);
+        Path link = link("b.jpg", original);
+
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 100);
+        // Linking to a link joins the same group
+        link("c.jpg", link);
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 100);
+        Assert.assertTrue(ScreenshotStore.getSummary().contains("files: 3"), ScreenshotStore.getSummary());
+    }
+
+    @Test(description = "Shared bytes are freed only when the last name is evicted")
+    public void bytesFreedWithLastName() throws IOException {
+        long now = System.currentTimeMillis();
+        Path original = file("a.jpg", 100);
+        Files.createLink(dir.resolve("b.jpg"), original);
+        writeIndex(now - 2 * HOUR + "\t100\tmain\tt\ta.jpg\t-",
+                now + "\t100\tmain\tt\tb.jpg\ta.jpg");
+
+        // The original has expired, its link has not
+        ScreenshotStore.useDirectory(dir, 0, HOUR);
+        ScreenshotStore.evictNow(5_000);
+        Assert.assertFalse(Files.exists(original));
+        Assert.assertTrue(Files.exists(dir.resolve("b.jpg")));
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 100, "The link still holds the bytes");
+        Assert.assertTrue(ScreenshotStore.getSummary().contains("evicted: 1 (0 B)"), ScreenshotStore.getSummary());
+
+        // Both names expired
+        ScreenshotStore.useDirectory(dir, 0, 1);
+        sleepPastCutoff();
+        ScreenshotStore.evictNow(5_000);
+        Assert.assertFalse(Files.exists(dir.resolve("b.jpg")));
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 0);
+    }
+
+    @Test(description = "A link whose original is no longer tracked owns the file's bytes")
+    public void linkToUntrackedOriginal() throws IOException {
+        ScreenshotStore.useDirectory(dir, 0, 0);
+        ScreenshotStore.getTotalBytes();
+        // Written outside the store, e.g. evicted from the index but still on disk
+        Path original = file("a.jpg", 100);
+        link("b.jpg", original);
+
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 100);
+        Assert.assertTrue(index().get(1).endsWith("\tb.jpg\t-"), "Link stored as a standalone file: " + index());
+    }
+
+    @Test(description = "A restart reloads the index, and rebuilds it from the directory when missing")
+    public void reloadAfterRestart() throws IOException {
+        ScreenshotStore.useDirectory(dir, 0, 0);
+        Path original = store("a.jpg", 100);
+        link("b.jpg", original);
+        store("c.jpg", 50);
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 150);
+
+        ScreenshotStore.useDirectory(dir, 0, 0);
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 150);
+        Assert.assertTrue(ScreenshotStore.getSummary().contains("files: 3"), ScreenshotStore.getSummary());
+
+        Files.delete(dir.resolve("index.tsv"));
+        ScreenshotStore.useDirectory(dir, 0, 0);
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 150, "Hard links grouped by file key");
+        Assert.assertEquals(index().size(), 4, "Rebuilt index: header and three files");
+    }
+
+    @Test(description = "Without a maximum age the least recently used files go first")
+    public void evictsLeastRecentlyUsedOverQuota() throws IOException {
+        ScreenshotStore.useDirectory(dir, 250, 0);
+        Path a = store("a.jpg", 100);
+        store("b.jpg", 100);
+        // Linking marks a as used, so b becomes the eldest
+        link("l.jpg", a);
+        store("c.jpg", 100);
+        ScreenshotStore.evictNow(5_000);
+
+        Assert.assertFalse(Files.exists(dir.resolve("b.jpg")));
+        Assert.assertTrue(Files.exists(a));
+        Assert.assertTrue(Files.exists(dir.resolve("l.jpg")));
+        Assert.assertTrue(Files.exists(dir.resolve("c.jpg")));
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 200);
+        Assert.assertFalse(String.join("\n", index()).contains("b.jpg"), "Index compacted");
+    }
+
+    @Test(description = "With a maximum age, expired files behind recently used ones are still evicted")
+    public void evictsExpiredFilesInAnyPosition() throws IOException {
+        long now = System.currentTimeMillis();
+        file("fresh.jpg", 10);
+        file("old.jpg", 10);
+        writeIndex(now + "\t10\tmain\tt\tfresh.jpg\t-",
+                now - 2 * HOUR + "\t10\tmain\tt\told.jpg\t-");
+
+        ScreenshotStore.useDirectory(dir, 0, HOUR);
+        ScreenshotStore.evictNow(5_000);
+
+        Assert.assertTrue(Files.exists(dir.resolve("fresh.jpg")));
+        Assert.assertFalse(Files.exists(dir.resolve("old.jpg")));
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 10);
+    }
+
+    @Test(description = "Without a maximum age nothing is evicted while within quota")
+    public void keepsOldFilesWithoutMaximumAge() throws IOException {
+        long now = System.currentTimeMillis();
+        file("old.jpg", 10);
+        writeIndex(now - 1_000 * HOUR + "\t10\tmain\tt\told.jpg\t-");
+
+        ScreenshotStore.useDirectory(dir, 100, 0);
+        ScreenshotStore.evictNow(5_000);
+
+        Assert.assertTrue(Files.exists(dir.resolve("old.jpg")));
+        Assert.assertEquals(ScreenshotStore.getTotalBytes(), 10);
+    }
+
+    private Path file(String name, int size) throws IOException {
+        return Files.write(dir.resolve(name), new byte[size]);
+    }
+
+    private Path store(String name, int size) throws IOException {
+        Path file = file(name, size);
+        ScreenshotStore.record(file, size, "test");
+        return file;
+    }
+
+    private Path link(String name, Path original) throws IOException {
+        Path link = Files.createLink(dir.resolve(name), original);
+        ScreenshotStore.recordLink(link, original, "test");
+        return link;
+    }
+
+    private void writeIndex(String... lines) throws IOException {
+        StringBuilder index = new StringBuilder("created_millis\tbytes\tthread\ttest\tfile\tlinked_to\n");
+        for (String line : lines) {
+            index.append(line).append('\n');
+        }
+        Files.writeString(dir.resolve("index.tsv"), index.toString());
+    }
+
+    private List<String> index() throws IOException {
+        return Files.readAllLines(dir.resolve("index.tsv"), StandardCharsets.UTF_8);
+    }
+
+    private static void sleepPastCutoff() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}